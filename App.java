@@ -1,5 +1,6 @@
 package indy;
 
+import indy.engine.LexiconLoader;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
@@ -8,20 +9,25 @@ import javafx.stage.Stage;
  * It's time for Indy! This is the main class to get things started.
  *
  * Class comments here...
- * The App class instantiates the PaneOrganizer and gets the game
- * window to show up with an apt title, SCRABBLE!
+ * The App class starts loading the dictionary in the background, instantiates
+ * the PaneOrganizer and gets the game window to show up with an apt title, SCRABBLE!
  */
 
 public class App extends Application {
 
     /**
      * Start takes in a Stage and sets up the scene in order for the
-     * Scrabble game to show up in a window.
+     * Scrabble game to show up in a window. The dictionary starts loading
+     * on a background thread first, so that it is read while the cover
+     * page is showing rather than when the game starts.
      */
     @Override
     public void start(Stage stage) {
+        LexiconLoader loader = new LexiconLoader(Constants.COMPILED_WORDS_FILEPATH,
+                Constants.VALID_WORDS_FILEPATH);
+
         // Create top-level object, set up the scene, and show the stage here.
-        PaneOrganizer organizer = new PaneOrganizer();
+        PaneOrganizer organizer = new PaneOrganizer(loader);
         Scene scene = new Scene(organizer.getRoot(), Constants.SCENE_WIDTH, Constants.SCENE_HEIGHT);
         stage.setScene(scene);
         stage.setTitle(Constants.TITLE);
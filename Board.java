@@ -1,27 +1,41 @@
 package indy;
 
+import indy.engine.BoardGrid;
+import indy.engine.BoardLayout;
+import indy.engine.BoardSnapshot;
+import indy.engine.CrossChecks;
+import indy.engine.Dawg;
+import indy.engine.Zobrist;
 import javafx.scene.layout.Pane;
 import java.util.ArrayList;
 
 /**
  * This class models the board in Scrabble, and it contains references to a
  * gameBoard representing squares on the board and a tileBoard representing
- * tiles that have been added to the board.
+ * tiles that have been added to the board. It also keeps a headless BoardGrid
+ * in sync with the tileBoard, which the rules engine validates moves against,
+ * along with the CrossChecks of every empty square.
  */
 public class Board {
     private GameSquare[][] gameBoard;
     private Tile[][] tileBoard;
+    private BoardGrid grid;
+    private CrossChecks crossChecks;
 
     /**
      * The Board constructor takes in a Pane which is passed into the
-     * method for generating the board squares in gameBoard.
+     * method for generating the board squares in gameBoard, and the Dawg
+     * that cross words are checked against.
      * It also instantiates two 2D arrays, one for the gameBoard
-     * and one for the tileBoard. Finally, it calls the method to
-     * generate all the board squares on the gameBoard.
+     * and one for the tileBoard, as well as the headless grid and its
+     * cross-checks. Finally, it calls the method to generate all the board
+     * squares on the gameBoard.
      */
-    public Board(Pane game) {
+    public Board(Pane game, Dawg validWords) {
         this.gameBoard = new GameSquare[Constants.BOARD_ROW][Constants.BOARD_COL];
         this.tileBoard = new Tile[Constants.BOARD_ROW][Constants.BOARD_COL];
+        this.grid = new BoardGrid();
+        this.crossChecks = new CrossChecks(validWords);
         this.generateBoardSquares(game);
     }
 
@@ -29,66 +43,34 @@ public class Board {
      * Helper method to fill the gameBoard with the squares on the board logically and graphically.
      * It takes in a game Pane, which the graphically generated board is added to.
      * This method also sets each square in the correct x and y coordinate based on its
-     * gameBoard indices as well as adds the special board squares in the correct location
+     * gameBoard indices as well as adds the special board squares in the correct location,
+     * which is looked up from the BoardLayout shared with the rules engine.
      */
     private void generateBoardSquares(Pane gamePane) {
         for (int row = 0; row < Constants.BOARD_ROW; row++) {
             for (int col = 0; col < Constants.BOARD_COL; col++) {
-                // declare local var GS as GS for now
-                GameSquare square = new GameSquare();
-
-                // first add all the TWS
-                if (row == 0 || row == Constants.BOARD_CENTER_ROW_COL || row == Constants.BOARD_ROW - 1) {
-                    if (col == 0 || col == Constants.BOARD_CENTER_ROW_COL || col == Constants.BOARD_COL - 1) {
+                // look up which kind of square belongs here and create it graphically
+                GameSquare square;
+                switch (BoardLayout.getSquareType(row, col)) {
+                    case TRIPLE_WORD:
                         square = new TripleWordSquare();
-                        // make an exception to this for center square, which is DWS
+                        break;
+                    case DOUBLE_WORD:
+                        square = new DoubleWordSquare();
+                        // add white star onto center square
                         if (row == Constants.BOARD_CENTER_ROW_COL && col == Constants.BOARD_CENTER_ROW_COL) {
-                            square = new DoubleWordSquare();
-                            // add white star onto square
                             square.setImage(Constants.STAR_IMAGE);
                         }
-                    }
-                    // add DLS
-                    else if (col == Constants.THREE_COL_DLS || col == Constants.ELEVEN_COL_DLS) {
-                        square = new DoubleLetterSquare();
-                    }
-                }
-
-                // add all special squares on both diagonals
-                else if (row >= 1 && row == col || row + col == Constants.BOARD_COL - 1) {
-                    if (row < Constants.FIVE_ROW_DWS || row > Constants.NINE_ROW_DWS
-                            && row < Constants.BOARD_ROW-1) {
-                        square = new DoubleWordSquare();
-                    }
-
-                    else if (row == Constants.FIVE_ROW_TLS || row == Constants.NINE_ROW_TLS) {
+                        break;
+                    case TRIPLE_LETTER:
                         square = new TripleLetterSquare();
-                    }
-
-                    else if (row == Constants.SIX_ROW_DLS || row == Constants.EIGHT_ROW_DLS) {
+                        break;
+                    case DOUBLE_LETTER:
                         square = new DoubleLetterSquare();
-                    }
-                }
-
-                // finally add all special squares in boomerang formation on four sides of board
-                // unfortunately must kinda brute force these since there is no numerical pattern
-
-                // tackle remaining TLS
-                else if ((row == 1 || row == Constants.THIRTEEN_ROW_TLS) && (col == Constants.FIVE_COL_TLS
-                        || col == Constants.NINE_COL_TLS) ||
-                        (row == Constants.FIVE_ROW_TLS || row == Constants.NINE_ROW_TLS) &&
-                                (col == 1 || col == Constants.THIRTEEN_COL_TLS)) {
-                    square = new TripleLetterSquare();
-                }
-
-                // tackle remaining DLS
-                else if ((row == Constants.TWO_ROW_DLS || row == Constants.TWELVE_ROW_DLS) &&
-                        (col == Constants.SIX_COL_DLS || col == Constants.EIGHT_COL_DLS) ||
-                        (row == Constants.THREE_ROW_DLS || row == Constants.ELEVEN_ROW_DLS) &&
-                        (col == 0 || col == Constants.BOARD_CENTER_ROW_COL || col == Constants.BOARD_COL - 1)
-                        || (row == Constants.SIX_ROW_DLS || row == Constants.EIGHT_ROW_DLS) &&
-                        (col == Constants.TWO_COL_DLS || col == Constants.TWELVE_COL_DLS)) {
-                    square = new DoubleLetterSquare();
+                        break;
+                    default:
+                        square = new GameSquare();
+                        break;
                 }
 
                 // add square graphically and in correct location
@@ -121,14 +103,15 @@ public class Board {
                 if ((tile.getCenterX() >= xMin && tile.getCenterX() < xMax) && (tile.getCenterY() >= yMin
                         && tile.getCenterY() < yMax)){
 
-                    // only do this if there is no tile on the
-                    // tileBoard at that location whether that is a previously or newly placed tile
-                    if (this.findTileAtRowCol(row, col) == null && !square.getOccupiedStatus()) {
+                    // only do this if there is no tile on the board at that location,
+                    // whether that is a previously (checked in the grid's occupancy bits) or newly placed tile
+                    if (!this.grid.isOccupied(row, col) && !square.getOccupiedStatus()) {
                         tile.setTileLocation(xMin, yMin);
                         // set the board square's status to occupied
                         square.setSquareOccupied(true);
-                        // set the square beneath the tile
+                        // set the square beneath the tile, along with its row and col
                         tile.setSquareBeneath(square);
+                        tile.setBoardLocation(row, col);
 
                         // indicate that the tile can drop
                         return true;
@@ -146,20 +129,21 @@ public class Board {
      * each tile in arraylist and adds the tile to the tileBoard logically
      * as well as sets the onBoardStatus of the tile to true, meaning it
      * has been added to the tileBoard, and finally makes the tile
-     * unresponsive to mouse events.
+     * unresponsive to mouse events. The tile's letter is also added
+     * to the headless grid, which updates the Zobrist hash of the board, and
+     * the cross-checks of the empty squares next to it are updated.
      */
     public void addTileToBoard(ArrayList<Tile> placedTiles){
         // loop through all placedTiles
         for (Tile tile : placedTiles){
-            // first obtain game square below placed tiles
-            GameSquare square = tile.getSquareBeneath();
-
-            //convert its coords to row col
-            int row = square.convertYtoRow(square.getSquareY());
-            int col = square.convertXtoCol(square.getSquareX());
+            // first obtain the row col of the square below placed tiles, recorded on drop
+            int row = tile.getBoardRow();
+            int col = tile.getBoardCol();
 
             // use row col to add tile to tileBoard in same spot as square
             this.tileBoard[row][col] = tile;
+            this.grid.placeTile(row, col, tile.getLetter().charAt(0), tile instanceof BlankTile);
+            this.crossChecks.tilePlaced(this.grid, row, col);
 
             // change onBoardStatus
             tile.setOnBoardStatus(true);
@@ -192,4 +176,43 @@ public class Board {
 
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the headless BoardGrid holding the letters of every tile
+     * that has been added to the board.
+     */
+    public BoardGrid getGrid(){
+        return this.grid;
+    }
+
+    /**
+     * Returns the CrossChecks of the headless grid, which are kept up to
+     * date as tiles are added to the board.
+     */
+    public CrossChecks getCrossChecks(){
+        return this.crossChecks;
+    }
+
+    /**
+     * Takes in whether it is player one's turn and returns the Zobrist hash
+     * of the position: every tile added to the board, including which of them
+     * are blanks, and which player is to move. Two positions with the same
+     * hash can be treated as the same in caches and stored analysis.
+     */
+    public long getHash(boolean playerOneTurn){
+        long hash = this.grid.getHash();
+        if (!playerOneTurn) {
+            hash ^= Zobrist.SIDE_TO_MOVE;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns an immutable BoardSnapshot of the tiles added to the board so
+     * far, which candidate moves can be validated against from any thread
+     * while the game goes on.
+     */
+    public BoardSnapshot getSnapshot(){
+        return new BoardSnapshot(this.grid, this.crossChecks);
+    }
+}
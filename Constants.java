@@ -41,6 +41,10 @@ public class Constants {
             "Drag Tiles to Form a Word \n \n" + "Press Enter or Click the \n Play" +
             " Button to Play a Move \n \n  Press the Spacebar \n to Start the Game!";
 
+    public static final String LOADING_MESSAGE = "Loading Dictionary...";
+
+    public static final double LOADING_BAR_WIDTH = 6 * SQUARE_WIDTH;
+
     public static final String PLAYER_ONE_MESSAGE = "Player One's Turn!";
 
     public static final String PLAYER_TWO_MESSAGE = "Player Two's Turn!";
@@ -73,6 +77,10 @@ public class Constants {
 
     public static final String VALID_WORDS_FILEPATH = "src/indy/ScrabbleWords.txt";
 
+    public static final String COMPILED_WORDS_FILEPATH = "src/indy/ScrabbleWords.dawg";
+
+    public static final String JOURNAL_FILEPATH = "LastGame.journal";
+
     public static final String STAR_IMAGE = "indy/StarSquare.png";
 
     public static final String DOUBLE_LETTER_IMAGE = "indy/DoubleLetterSquare.png";
@@ -138,7 +146,9 @@ public class Constants {
     public static final int NINE_COL_TLS = 9;
 
     public static final int BONUS = 50;
-    public static final int MERGE_SORT_DIVISOR = 2;
+
+    // a computer game in which neither player can move is abandoned after this many passes in a row
+    public static final int MAX_CONSECUTIVE_PASSES = 6;
 
     public static final int CENTER_COORD = STARTING_PLAYER_TILES;
     public static final double LOCATION_OFFSET = 0.5;
@@ -1,5 +1,11 @@
 package indy;
 
+import indy.engine.Dawg;
+import indy.engine.LetterValues;
+import indy.engine.MoveJournal;
+import indy.engine.Rack;
+import indy.engine.TileBag;
+import indy.engine.TileKind;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.effect.InnerShadow;
@@ -13,9 +19,8 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * As the top-level logic class, the Game class contains references to parts of the
@@ -28,10 +33,15 @@ public class Game {
     private HBox buttonPane;
     private Board gameBoard;
     private Referee referee;
-    private ArrayList<Tile> tileBag;
+    private TileBag tileBag;
+    // every play, pass and resignation so far, replayable from the seed of the tileBag
+    private MoveJournal journal;
     private ArrayList<Tile> placedTiles;
     private Tile[] playerOneTiles;
     private Tile[] playerTwoTiles;
+    // the same tiles as the arrays above, counted by kind for the rules engine
+    private Rack playerOneRack;
+    private Rack playerTwoRack;
     private HBox messageBox;
     private Text userMessage;
     private Text playerOneScoreBox;
@@ -45,20 +55,22 @@ public class Game {
      * The Game constructor initializes the gamePane and buttonPane to the Pane and
      * HBox parameter passed in, as well as instantiates a referee, a gameBoard, a
      * tileBag, the playerTiles, and the messageBox, among other components of the game.
+     * The board and referee are handed the collection of valid words, which must already be loaded.
      * It makes the first player's tile appear on the board, and it generates all six buttons.
      */
-    public Game(Pane game, HBox button) {
+    public Game(Pane game, HBox button, Dawg validWords) {
         this.gamePane = game;
         this.buttonPane = button;
         this.playerOneTurn = true;
         this.setUpScorePane();
         this.playerOneTiles = new Tile[Constants.STARTING_PLAYER_TILES];
         this.playerTwoTiles = new Tile[Constants.STARTING_PLAYER_TILES];
-        this.tileBag = new ArrayList<>();
+        this.playerOneRack = new Rack();
+        this.playerTwoRack = new Rack();
         this.placedTiles = new ArrayList<>();
-        this.gameBoard = new Board(this.gamePane);
+        this.gameBoard = new Board(this.gamePane, validWords);
         this.setUpUserMessage();
-        this.referee = new Referee(this.placedTiles, this.gamePane, this.gameBoard);
+        this.referee = new Referee(this.placedTiles, this.gamePane, this.gameBoard, validWords);
         this.setUpTileBag();
         this.setUpTileRack();
         this.generatePlayerTiles();
@@ -139,78 +151,40 @@ public class Game {
     }
 
     /**
-     * Logically creates the tileBag by populating a hashmap
-     * with Tile objects of every tile type as the key of the
-     * hashmap and setting the frequency of each type of tile in the
-     * tile bag as the value of the hashmap. For every entry in the
-     * hashmap, each key (Tile) is instantiated and added to the tile
-     * bag arraylist the same number of times as its value (frequency
-     * in the tile bag). Every tile added to the tileBag has a unique ID
-     * number which is an int from 1 to 100 since there are 100 total
-     * tiles in the tilebag. This ID is used to distinguish tiles. Also,
-     * every tile in the tile bag is given the ability to be dragged
-     * by the mouse.
+     * Logically creates the tileBag, which holds the int id of every tile
+     * that has not been drawn yet rather than a Tile object, since the
+     * letter and point value of a tile are given by the TileKind its id
+     * belongs to. The bag is shuffled once from a random seed, and a Tile
+     * is only instantiated once its id is drawn by drawTile. The journal
+     * of the game is started from the seed of the bag.
      */
     private void setUpTileBag() {
-        HashMap<Tile, Integer> tiles = new HashMap<>();
-
-        tiles.put((new Tile("A", Constants.AEIOULNSTR_POINT_VAL)), Constants.IA_FREQ);
-        tiles.put((new Tile("B", Constants.BCMP_POINT_VAL)), Constants.YWVHFPMCB_FREQ);
-        tiles.put((new Tile("C", Constants.BCMP_POINT_VAL)), Constants.YWVHFPMCB_FREQ);
-        tiles.put((new Tile("D", Constants.DG_POINT_VAL)), Constants.DUSL_FREQ);
-        tiles.put((new Tile("E", Constants.AEIOULNSTR_POINT_VAL)), Constants.E_FREQ);
-        tiles.put((new Tile("F", Constants.FHVWY_POINT_VAL)), Constants.YWVHFPMCB_FREQ);
-        tiles.put((new Tile("G", Constants.DG_POINT_VAL)), Constants.G_FREQ);
-        tiles.put((new Tile("H", Constants.FHVWY_POINT_VAL)), Constants.YWVHFPMCB_FREQ);
-        tiles.put((new Tile("I", Constants.AEIOULNSTR_POINT_VAL)), Constants.IA_FREQ);
-        tiles.put((new Tile("J", Constants.JX_POINT_VAL)), Constants.ZXQJK_FREQ);
-        tiles.put((new Tile("K", Constants.K_POINT_VAL)), Constants.ZXQJK_FREQ);
-        tiles.put((new Tile("L", Constants.AEIOULNSTR_POINT_VAL)), Constants.DUSL_FREQ);
-        tiles.put((new Tile("M", Constants.BCMP_POINT_VAL)), Constants.YWVHFPMCB_FREQ);
-        tiles.put((new Tile("N", Constants.AEIOULNSTR_POINT_VAL)), Constants.TRN_FREQ);
-        tiles.put((new Tile("O", Constants.AEIOULNSTR_POINT_VAL)), Constants.O_FREQ);
-        tiles.put((new Tile("P", Constants.BCMP_POINT_VAL)), Constants.YWVHFPMCB_FREQ);
-        tiles.put((new Tile("Q", Constants.QZ_POINT_VAL)), Constants.ZXQJK_FREQ);
-        tiles.put((new Tile("R", Constants.AEIOULNSTR_POINT_VAL)), Constants.TRN_FREQ);
-        tiles.put((new Tile("S", Constants.AEIOULNSTR_POINT_VAL)), Constants.DUSL_FREQ);
-        tiles.put((new Tile("T", Constants.AEIOULNSTR_POINT_VAL)), Constants.TRN_FREQ);
-        tiles.put((new Tile("U", Constants.AEIOULNSTR_POINT_VAL)), Constants.DUSL_FREQ);
-        tiles.put((new Tile("V", Constants.FHVWY_POINT_VAL)), Constants.YWVHFPMCB_FREQ);
-        tiles.put((new Tile("W", Constants.FHVWY_POINT_VAL)), Constants.YWVHFPMCB_FREQ);
-        tiles.put((new Tile("X", Constants.JX_POINT_VAL)), Constants.ZXQJK_FREQ);
-        tiles.put((new Tile("Y", Constants.FHVWY_POINT_VAL)), Constants.YWVHFPMCB_FREQ);
-        tiles.put((new Tile("Z", Constants.QZ_POINT_VAL)), Constants.ZXQJK_FREQ);
-        tiles.put((new BlankTile(" ", Constants.BLANK_POINT_VAL)), Constants.YWVHFPMCB_FREQ);
-
-        // declare local var numId to represent the id of each tile
-        int numId = 0;
-
-        // iterate through hashmap in outer loop and iterate through the freq value in inner loop
-        // add letter however many times necessary
-        for (Map.Entry<Tile, Integer> entry : tiles.entrySet()) {
-
-            int count = entry.getValue();
-
-            for (int i = 0; i < count; i++) {
-                Tile myTile;
-                if (entry.getKey().getLetter() != " ") {
-                    myTile = new Tile(entry.getKey().getLetter(), entry.getKey().getTileValue());
-                }
-
-                else {
-                    myTile = new BlankTile(entry.getKey().getLetter(), entry.getKey().getTileValue());
-                }
-
-                //enable drag ability for all starting tiles
-                myTile.beDragged(this.placedTiles, this.messageBox, this.gameBoard);
+        this.tileBag = new TileBag();
+        this.journal = new MoveJournal(this.tileBag.getSeed());
+    }
 
-                // set id number
-                numId++;
-                myTile.setIdNumber(numId);
+    /**
+     * Draws the next tile id from the tileBag and instantiates the Tile
+     * it stands for, which is given the ability to be dragged by the mouse.
+     * Every tile has a unique ID number from 1 to 100, one more than its
+     * tile id, which is used to distinguish tiles. Returns the new Tile.
+     */
+    private Tile drawTile() {
+        int tileId = this.tileBag.drawTileId();
+        TileKind kind = TileKind.forTile(tileId);
+        Tile tile;
+        if (!kind.isBlank()) {
+            tile = new Tile(kind.toString(), kind.getPointValue());
+        }
 
-                this.tileBag.add(myTile);
-            }
+        else {
+            tile = new BlankTile(" ", kind.getPointValue());
         }
+
+        //enable drag ability for the drawn tile
+        tile.beDragged(this.placedTiles, this.messageBox, this.gameBoard);
+        tile.setIdNumber(tileId + 1);
+        return tile;
     }
 
     /**
@@ -235,16 +209,18 @@ public class Game {
      * to each player having seven starting tiles. Additionally, the
      * initial x position of each tile is calculated based on its index
      * and it is stored, to determine where on the tile rack the tile will
-     * be displayed.
+     * be displayed. Each tile is also added to the player's Rack.
      */
     private void generatePlayerTiles() {
         for (int i = 0; i < Constants.STARTING_PLAYER_TILES; i++) {
             // generate a random new index representing a tile the tile bag
-            Tile tileOne = this.tileBag.remove((int) (Math.random() * (this.tileBag.size())));
+            Tile tileOne = this.drawTile();
             this.playerOneTiles[i] = tileOne;
+            this.playerOneRack.add(this.getRackTile(tileOne));
 
-            Tile tileTwo = this.tileBag.remove((int) (Math.random() * (this.tileBag.size())));
+            Tile tileTwo = this.drawTile();
             this.playerTwoTiles[i] = tileTwo;
+            this.playerTwoRack.add(this.getRackTile(tileTwo));
 
             // determine initial x coord of tile and use it to graphically add tile
             // to the correct location. Then store initial x of Tile
@@ -405,6 +381,7 @@ public class Game {
             if (this.placedTiles.size() > 0) {
                 // get the ref to validate word. will return true if the move was a valid move, false otherwise
                 if (this.referee.reactToPlay()) {
+                    this.journal.recordPlay(this.referee.getMove());
                     if (this.playerOneTurn) {
                         //obtain score of the move and add it to corresponding player's score
                         this.playerOneScore += this.referee.getScore();
@@ -501,6 +478,7 @@ public class Game {
             }
             // clear any placed tiles from memory
             this.placedTiles.clear();
+            this.journal.recordPass();
 
             // switch turns
             this.playerOneTurn = !this.playerOneTurn;
@@ -541,6 +519,8 @@ public class Game {
             // make enter not work
             this.gamePane.setOnKeyPressed(null);
             this.gameOver = true;
+            this.journal.recordResign();
+            this.saveJournal();
         }
     }
 
@@ -570,6 +550,22 @@ public class Game {
         this.makeTilesUnclickable();
         // make enter not work
         this.gamePane.setOnKeyPressed(null);
+        this.saveJournal();
+    }
+
+    /**
+     * Writes the journal of the finished game to the journal file, so that
+     * it can be replayed through the rules later. A journal that cannot be
+     * written does not stop the game from ending.
+     */
+    private void saveJournal() {
+        try {
+            this.journal.save(Constants.JOURNAL_FILEPATH);
+        }
+
+        catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 
     /**
@@ -598,16 +594,20 @@ public class Game {
      * bag becomes empty, no more tiles are replenished. The newly drawn
      * tiles are assigned the same initial position on the tile rack as
      * the tile that they replace, so they can appear there when displayed
-     * graphically.
+     * graphically. The player's Rack loses the played tiles and gains the
+     * drawn ones.
      */
     private void replenishTiles() {
+        Rack rack = this.playerOneTurn ? this.playerOneRack : this.playerTwoRack;
         for (Tile placedTile : this.placedTiles) {
+            rack.remove(this.getRackTile(placedTile));
             for (int i = 0; i < Constants.STARTING_PLAYER_TILES; i++) {
                 if (this.playerOneTurn) {
                     if (this.playerOneTiles[i] != null && this.playerOneTiles[i].getInitialX() ==
                             placedTile.getInitialX()) {
-                        if (this.tileBag.size() > 0) {
-                            Tile removed = this.tileBag.remove((int) (Math.random() * (this.tileBag.size())));
+                        if (!this.tileBag.isEmpty()) {
+                            Tile removed = this.drawTile();
+                            rack.add(this.getRackTile(removed));
                             removed.setInitialX(this.playerOneTiles[i].getInitialX());
                             this.playerOneTiles[i] = removed;
                         }
@@ -621,8 +621,9 @@ public class Game {
                 else {
                     if (this.playerTwoTiles[i] != null && this.playerTwoTiles[i].getInitialX()
                             == placedTile.getInitialX()) {
-                        if (this.tileBag.size() > 0) {
-                            Tile removed = this.tileBag.remove((int) (Math.random() * (this.tileBag.size())));
+                        if (!this.tileBag.isEmpty()) {
+                            Tile removed = this.drawTile();
+                            rack.add(this.getRackTile(removed));
                             removed.setInitialX(this.playerTwoTiles[i].getInitialX());
                             this.playerTwoTiles[i] = removed;
                         }
@@ -656,44 +657,31 @@ public class Game {
      * Method to check whether the game is over by checking the size of the tileBag
      * first and seeing whether it is empty. If the tile bag is not empty, false is
      * automatically returned since the game is still ongoing. If it's empty and a
-     * player has played all the tiles on their rack, then the game is over and true is returned.
+     * player has played all the tiles on their rack, which is the size of their
+     * Rack, then the game is over and true is returned.
      * If the player has not played all their tiles, then false is returned.
      */
     private boolean checkGameOver() {
-        if (this.tileBag.size() == 0) {
-            if (this.playerOneTurn) {
-                // first find how many tiles player one had
-                int numTiles = this.checkNumOfPlayerTiles(this.playerOneTiles);
-                // if numtiles is same as the numplaced tiles
-                if (this.placedTiles.size() == numTiles) {
-                    return true;
-                }
-            }
-            else {
-                int numTiles = this.checkNumOfPlayerTiles(this.playerTwoTiles);
-                    if (this.placedTiles.size() == numTiles){
-                        return true;
-                    }
-                }
+        if (this.tileBag.isEmpty()) {
+            Rack rack = this.playerOneTurn ? this.playerOneRack : this.playerTwoRack;
+            // if the number of tiles on the rack is the same as the number placed
+            if (this.placedTiles.size() == rack.size()) {
+                return true;
             }
+        }
         return false;
     }
 
     /**
-     * Takes in an array of Tile objects representing a player's tiles
-     * and iterates through them, increasing a counter each time that
-     * tile is not null, meaning that the tile exists on the tile rack.
-     * Returns the counter integer, representing the number of tiles
-     * on a player's tile rack.
+     * Takes in a Tile and returns the char it is counted as on a Rack,
+     * which is its letter, or LetterValues.BLANK for a blank tile no matter
+     * which letter it was given.
      */
-    private int checkNumOfPlayerTiles(Tile[] playerTiles){
-        int counter = 0;
-        for (Tile tile : playerTiles){
-            if (tile != null){
-                counter++;
-            }
+    private char getRackTile(Tile tile) {
+        if (tile instanceof BlankTile) {
+            return LetterValues.BLANK;
         }
-        return counter;
+        return tile.getLetter().charAt(0);
     }
 
     /**
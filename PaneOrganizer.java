@@ -1,12 +1,16 @@
 package indy;
 
+import indy.engine.LexiconLoader;
+import javafx.animation.AnimationTimer;
 import javafx.geometry.Pos;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.effect.InnerShadow;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
@@ -18,19 +22,25 @@ import javafx.scene.text.TextAlignment;
  * references to a root and coverPage, It instantiates the root, as well as
  * the cover page that shows up at the start of the game and contains the
  * welcome message and playing instructions. It also adds a keyevent handler to respond
- * to a space bar being pressed, in which case the Scrabble game manifests.
+ * to a space bar being pressed, in which case the Scrabble game manifests as soon as
+ * the dictionary, which is loaded in the background, is ready.
  */
 public class PaneOrganizer {
     private BorderPane root;
     private HBox coverPage;
+    private LexiconLoader lexiconLoader;
+    private boolean gameRequested;
 
     /**
-     * This is the constructor for the PaneOrganizer, which instantiates the root
+     * This is the constructor for the PaneOrganizer, which takes in the
+     * LexiconLoader that is loading the dictionary and instantiates the root
      * and coverpage. There is a method to handle the pressing of the space bar,
      * which instantiates the Scrabble game as well as the buttonPane that contains
      * all the buttons.
      */
-    public PaneOrganizer(){
+    public PaneOrganizer(LexiconLoader loader){
+        this.lexiconLoader = loader;
+        this.gameRequested = false;
         this.root = new BorderPane();
         this.root.setFocusTraversable(false);
 
@@ -67,30 +77,79 @@ public class PaneOrganizer {
 
     /**
      * Takes in a KeyEvent and only responds if the key pressed
-     * is the space bar, in which case a game is instantiated and
-     * the coverpage is supplanted by the game pane containing the
-     * game board and tiles. A buttonPane meant to hold all the
-     * buttons is also instantiated, allowing the addition of
-     * buttons onto the game.
+     * is the space bar, in which case a game is started. If the
+     * dictionary is still loading, a loading message and progress
+     * bar are shown until it is ready, and the game starts then.
+     * Further presses of the space bar are ignored.
      */
     private void reactToKeyPress(KeyEvent e){
         KeyCode keyPressed = e.getCode();
-        if (keyPressed == KeyCode.SPACE){
+        if (keyPressed == KeyCode.SPACE && !this.gameRequested){
+            this.gameRequested = true;
 
             // set focus traversable of coverPane to false
             this.coverPage.setFocusTraversable(false);
 
-            Pane gamePane = new Pane();
-            this.setUpGamePane(gamePane);
+            if (this.lexiconLoader.isReady()) {
+                this.startGame();
+            }
 
-            HBox buttonPane = new HBox();
-            this.setUpButtonPane(buttonPane);
-            new Game(gamePane, buttonPane);
+            else {
+                this.waitForLexicon();
+            }
         }
 
         e.consume();
     }
 
+    /**
+     * Replaces the cover page with a loading message and a progress bar,
+     * which is updated every frame with the progress of the dictionary load
+     * until the dictionary is ready, at which point the game starts.
+     */
+    private void waitForLexicon(){
+        Text loadingMessage = new Text(Constants.LOADING_MESSAGE);
+        loadingMessage.setFont(Font.font("Verdana", FontWeight.BOLD, Constants.SCORE_FONT));
+        loadingMessage.setFill(Color.MAROON);
+
+        ProgressBar progressBar = new ProgressBar(this.lexiconLoader.getProgress());
+        progressBar.setPrefWidth(Constants.LOADING_BAR_WIDTH);
+
+        VBox loadingPane = new VBox();
+        loadingPane.setAlignment(Pos.CENTER);
+        loadingPane.setSpacing(Constants.SQUARE_MIDPOINT);
+        loadingPane.setStyle(Constants.TILE_COLOR);
+        loadingPane.getChildren().addAll(loadingMessage, progressBar);
+        this.root.setCenter(loadingPane);
+
+        AnimationTimer timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                progressBar.setProgress(PaneOrganizer.this.lexiconLoader.getProgress());
+                if (PaneOrganizer.this.lexiconLoader.isReady()) {
+                    this.stop();
+                    PaneOrganizer.this.startGame();
+                }
+            }
+        };
+        timer.start();
+    }
+
+    /**
+     * Instantiates a game using the loaded dictionary, and the coverpage
+     * is supplanted by the game pane containing the game board and tiles.
+     * A buttonPane meant to hold all the buttons is also instantiated,
+     * allowing the addition of buttons onto the game.
+     */
+    private void startGame(){
+        Pane gamePane = new Pane();
+        this.setUpGamePane(gamePane);
+
+        HBox buttonPane = new HBox();
+        this.setUpButtonPane(buttonPane);
+        new Game(gamePane, buttonPane, this.lexiconLoader.getFuture().join());
+    }
+
     /**
      * Helper method to set the color of the game pane
      * as well as set it to the center of
@@ -10,7 +10,6 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import java.util.ArrayList;
-import java.util.Objects;
 
 /**
  * This class models a tile in scrabble and is a subclasss of GameSquare.
@@ -25,6 +24,9 @@ public class Tile extends GameSquare{
     private String letter;
     private int pointValue;
     private GameSquare squareBeneath;
+    // row and col of the squareBeneath, recorded when the tile is dropped
+    private int boardRow;
+    private int boardCol;
     private double centerX;
     private double centerY;
     private double initialX;
@@ -196,6 +198,32 @@ public class Tile extends GameSquare{
         return this.squareBeneath;
     }
 
+    /**
+     * Takes in two ints representing the row and col of the square the
+     * tile was dropped onto and stores them, so that the tile's location on
+     * the board never has to be worked back out from its coordinates.
+     */
+    public void setBoardLocation(int row, int col){
+        this.boardRow = row;
+        this.boardCol = col;
+    }
+
+    /**
+     * Returns an int representing the row of the square the tile was
+     * most recently dropped onto.
+     */
+    public int getBoardRow(){
+        return this.boardRow;
+    }
+
+    /**
+     * Returns an int representing the col of the square the tile was
+     * most recently dropped onto.
+     */
+    public int getBoardCol(){
+        return this.boardCol;
+    }
+
     /**
      * Accessor that returns a String representing the letter
      * of the tile.
@@ -370,11 +398,13 @@ public class Tile extends GameSquare{
 
     /**
      * Provides a way of computing a mathematical representation of a Tile object
-     * and returns an int representing that mathematical representation.
+     * and returns an int representing that mathematical representation. It
+     * uses the same tile ID number that equals compares, so that tiles with
+     * the same letter do not all collide in hash based collections.
      */
     @Override
     public int hashCode(){
-        return Objects.hash(this.letter, this.pointValue);
+        return Integer.hashCode(this.idNumber);
     }
 
 }
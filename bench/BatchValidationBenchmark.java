@@ -0,0 +1,100 @@
+package indy.bench;
+
+import indy.engine.BatchValidator;
+import indy.engine.BoardSnapshot;
+import indy.engine.Dawg;
+import indy.engine.GameState;
+import indy.engine.LetterValues;
+import indy.engine.LexiconFile;
+import indy.engine.Move;
+import indy.engine.MoveGenerator;
+import indy.engine.MoveValidator;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validates a batch of candidate moves against a snapshot of a mid-game board,
+ * one at a time with a single MoveValidator and then in parallel with a
+ * BatchValidator, and prints how many moves per second each gets through. The
+ * board is reached by seeded greedy play, and the candidates are every move
+ * the next player can make along with a copy of each with its first letter
+ * changed, so that invalid words are rejected too. Both ways of validating
+ * must give every candidate the same score. Takes in the path of the word
+ * list and of the compiled lexicon.
+ */
+public class BatchValidationBenchmark {
+    private static final int TURNS = 10;
+    private static final int ROUNDS = 10;
+    private static final int PASSES_PER_ROUND = 20;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BatchValidationBenchmark <word list> <compiled lexicon>");
+            System.exit(1);
+        }
+
+        Dawg dawg = LexiconFile.load(args[1], args[0]);
+        MoveGenerator generator = new MoveGenerator(dawg);
+        GameState game = new GameState(dawg, 0);
+        for (int turn = 0; turn < TURNS; turn++) {
+            Move best = null;
+            for (Move move : generator.generate(game.getBoard(), game.getCrossChecks(),
+                    game.getRack(game.getCurrentPlayer()))) {
+                if (best == null || move.getScore() > best.getScore()) {
+                    best = move;
+                }
+            }
+            game.play(best);
+        }
+
+        BoardSnapshot snapshot = game.getSnapshot();
+        List<Move> moves = new ArrayList<>();
+        for (Move move : generator.generate(game.getBoard(), game.getCrossChecks(),
+                game.getRack(game.getCurrentPlayer()))) {
+            Move changed = new Move();
+            for (int j = 0; j < move.size(); j++) {
+                char letter = j == 0 ? (char) ('A' + (move.getLetter(j) - 'A' + 1) % LetterValues.ALPHABET_SIZE)
+                        : move.getLetter(j);
+                changed.addPlacement(move.getRow(j), move.getCol(j), letter, move.isBlank(j));
+            }
+            moves.add(move);
+            moves.add(changed);
+        }
+
+        MoveValidator validator = new MoveValidator(dawg);
+        BatchValidator batchValidator = new BatchValidator(dawg);
+        int[] expected = new int[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            expected[i] = validator.validate(game.getBoard(), game.getCrossChecks(), moves.get(i));
+        }
+        int[] scores = batchValidator.validateAll(snapshot, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (scores[i] != expected[i]) {
+                throw new IllegalStateException("Batch scored " + moves.get(i) + " as " + scores[i]
+                        + " instead of " + expected[i]);
+            }
+        }
+
+        System.out.printf("%d candidates on %d threads%n", moves.size(), Runtime.getRuntime().availableProcessors());
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int pass = 0; pass < PASSES_PER_ROUND; pass++) {
+                for (int i = 0; i < moves.size(); i++) {
+                    validator.validate(game.getBoard(), game.getCrossChecks(), moves.get(i));
+                }
+            }
+            double sequential = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            for (int pass = 0; pass < PASSES_PER_ROUND; pass++) {
+                batchValidator.validateAll(snapshot, moves);
+            }
+            double parallel = (System.nanoTime() - start) / 1e9;
+
+            long validated = (long) moves.size() * PASSES_PER_ROUND;
+            System.out.printf("sequential %12.0f moves/s   batch %12.0f moves/s%n",
+                    validated / sequential, validated / parallel);
+        }
+    }
+}
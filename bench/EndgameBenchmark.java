@@ -0,0 +1,125 @@
+package indy.bench;
+
+import indy.engine.Dawg;
+import indy.engine.EndgameSolution;
+import indy.engine.EndgameSolver;
+import indy.engine.GameState;
+import indy.engine.GreedyStrategy;
+import indy.engine.JournalReplayer;
+import indy.engine.LexiconFile;
+import indy.engine.Move;
+import java.io.IOException;
+
+/**
+ * Solves the endgames of seeded games in which both players always make the
+ * highest scoring move, from the turn the tile bag runs out, and prints how
+ * long each took, how many positions were searched and whether it was solved
+ * exactly. Each endgame is then played out twice against a greedy opponent,
+ * once by a greedy player and once by the solver, solving again every turn.
+ * The solver must do at least as well as the spread it found it could force
+ * whenever every solve along the way was exact. Takes in the path of the word
+ * list and of the compiled lexicon, and optionally the number of games and
+ * the time limit per turn in milliseconds.
+ */
+public class EndgameBenchmark {
+    private static final int TABLE_BITS = 20;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: EndgameBenchmark <word list> <compiled lexicon> [games] [time limit ms]");
+            System.exit(1);
+        }
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        long timeLimit = args.length > 3 ? Long.parseLong(args[3]) : 1000;
+
+        Dawg dawg = LexiconFile.load(args[1], args[0]);
+        GreedyStrategy greedy = new GreedyStrategy(dawg);
+        EndgameSolver solver = new EndgameSolver(dawg, TABLE_BITS);
+        JournalReplayer replayer = new JournalReplayer(dawg);
+        int solved = 0;
+        int exact = 0;
+        long gained = 0;
+        long totalNanos = 0;
+        long totalNodes = 0;
+        for (int game = 0; game < games; game++) {
+            GameState state = new GameState(dawg, game);
+            while (!state.isOver() && !state.getTileBag().isEmpty()) {
+                play(state, greedy.chooseMove(state));
+            }
+            if (state.isOver()) {
+                continue;
+            }
+
+            int player = state.getCurrentPlayer();
+            EndgameSolution solution = solver.solve(state, timeLimit);
+
+            GameState greedyGame = replayer.replay(state.getJournal());
+            while (!isEnded(greedyGame)) {
+                play(greedyGame, greedy.chooseMove(greedyGame));
+            }
+
+            GameState solvedGame = replayer.replay(state.getJournal());
+            boolean alwaysExact = true;
+            while (!isEnded(solvedGame)) {
+                if (solvedGame.getCurrentPlayer() == player) {
+                    EndgameSolution turn = solver.solve(solvedGame, timeLimit);
+                    alwaysExact &= turn.isExact();
+                    play(solvedGame, turn.getBestMove().size() == 0 ? null : turn.getBestMove());
+                }
+
+                else {
+                    play(solvedGame, greedy.chooseMove(solvedGame));
+                }
+            }
+
+            int greedySpread = getSpread(greedyGame, player) - getSpread(state, player);
+            int solvedSpread = getSpread(solvedGame, player) - getSpread(state, player);
+            if (alwaysExact && solvedSpread < solution.getSpread()) {
+                throw new IllegalStateException("Game " + game + " was solved to " + solution.getSpread()
+                        + " but the solver only got " + solvedSpread);
+            }
+
+            solved++;
+            exact += solution.isExact() ? 1 : 0;
+            gained += solvedSpread - greedySpread;
+            totalNanos += solution.getNanos();
+            totalNodes += solution.getNodes();
+            System.out.printf("game %3d %7s v %-7s %6.0f ms %8d nodes  greedy %4d solver %4d  %s%n", game,
+                    state.getRack(player), state.getRack(1 - player), solution.getNanos() / 1e6,
+                    solution.getNodes(), greedySpread, solvedSpread, solution);
+        }
+        System.out.printf("%d endgames, %d solved exactly, %.1f ms each, %.0f nodes/s, "
+                        + "%.1f points of spread better than greedy play%n", solved, exact,
+                totalNanos / 1e6 / solved, totalNodes / (totalNanos / 1e9), (double) gained / solved);
+    }
+
+    /**
+     * Takes in a GameState and returns true if the game is over, or both
+     * players have passed in a row, which ends an endgame.
+     */
+    private static boolean isEnded(GameState state) {
+        return state.isOver() || state.getConsecutivePasses() >= 2;
+    }
+
+    /**
+     * Takes in a GameState and a player and returns their score minus the
+     * score of their opponent.
+     */
+    private static int getSpread(GameState state, int player) {
+        return state.getScore(player) - state.getScore(1 - player);
+    }
+
+    /**
+     * Takes in a GameState and the move chosen for the current player, and
+     * plays it, or passes if there is none.
+     */
+    private static void play(GameState state, Move move) {
+        if (move == null) {
+            state.pass();
+        }
+
+        else {
+            state.play(move);
+        }
+    }
+}
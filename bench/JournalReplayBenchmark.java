@@ -0,0 +1,98 @@
+package indy.bench;
+
+import indy.Constants;
+import indy.engine.Dawg;
+import indy.engine.GameState;
+import indy.engine.JournalReplayer;
+import indy.engine.LexiconFile;
+import indy.engine.Move;
+import indy.engine.MoveGenerator;
+import indy.engine.MoveJournal;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records seeded games in which both players always make the highest scoring
+ * move, passing when they have none, then replays their journals through the
+ * rules and prints how many games per second are replayed. Every journal is
+ * written to a file and read back before it is replayed, and every replay must
+ * end on the same scores as the recorded game. Takes in the path of the word
+ * list and of the compiled lexicon, optionally the number of games, and
+ * optionally the path of a journal saved by the game, which is replayed first.
+ */
+public class JournalReplayBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JournalReplayBenchmark <word list> <compiled lexicon> [games] [journal]");
+            System.exit(1);
+        }
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        Dawg dawg = LexiconFile.load(args[1], args[0]);
+        JournalReplayer replayer = new JournalReplayer(dawg);
+        if (args.length > 3) {
+            GameState replayed = replayer.replay(MoveJournal.load(args[3]));
+            System.out.printf("replayed %s: %d to %d%n", args[3], replayed.getScore(0), replayed.getScore(1));
+        }
+
+        MoveGenerator generator = new MoveGenerator(dawg);
+        List<MoveJournal> journals = new ArrayList<>();
+        List<GameState> recorded = new ArrayList<>();
+        long bytes = 0;
+        File file = File.createTempFile("replay", ".journal");
+        file.deleteOnExit();
+        for (int game = 0; game < games; game++) {
+            GameState state = playGreedily(generator, new GameState(dawg, game));
+            state.getJournal().save(file.getPath());
+            MoveJournal journal = MoveJournal.load(file.getPath());
+            journals.add(journal);
+            recorded.add(state);
+            bytes += journal.getLength();
+        }
+        System.out.printf("recorded %d games in %d bytes%n", games, bytes);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long turns = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < journals.size(); i++) {
+                GameState replayed = replayer.replay(journals.get(i));
+                GameState expected = recorded.get(i);
+                if (replayed.getScore(0) != expected.getScore(0) || replayed.getScore(1) != expected.getScore(1)) {
+                    throw new IllegalStateException("Game " + i + " replayed to different scores");
+                }
+                turns += journals.get(i).getEntryCount();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%6d games %10.0f games/s %12.0f turns/s%n",
+                    journals.size(), journals.size() / seconds, turns / seconds);
+        }
+    }
+
+    /**
+     * Plays a game to the end, always making the highest scoring move, and
+     * returns it.
+     */
+    private static GameState playGreedily(MoveGenerator generator, GameState state) {
+        while (!state.isOver() && state.getConsecutivePasses() < Constants.MAX_CONSECUTIVE_PASSES) {
+            Move best = null;
+            for (Move move : generator.generate(state.getBoard(), state.getCrossChecks(),
+                    state.getRack(state.getCurrentPlayer()))) {
+                if (best == null || move.getScore() > best.getScore()) {
+                    best = move;
+                }
+            }
+            if (best == null) {
+                state.pass();
+            }
+
+            else {
+                state.play(best);
+            }
+        }
+        return state;
+    }
+}
@@ -0,0 +1,68 @@
+package indy.bench;
+
+import indy.engine.Dawg;
+import indy.engine.GreedyStrategy;
+import indy.engine.LeaveStrategy;
+import indy.engine.LeaveTable;
+import indy.engine.LexiconFile;
+import indy.engine.Rack;
+import indy.engine.SelfPlay;
+import indy.engine.SelfPlayResult;
+import indy.engine.TileKind;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Maps a leave table written by LeaveTableBuilder, times how long it takes to
+ * look up the value of a random leave, and plays seeded games of LeaveStrategy
+ * against GreedyStrategy with SelfPlay to show how much the leave values are
+ * worth. The games are dealt from seeds after the ones the table was built
+ * from. Takes in the path of the word list, of the compiled lexicon and of
+ * the leave table, and optionally the number of games.
+ */
+public class LeaveTableBenchmark {
+    private static final int LOOKUPS = 10_000_000;
+    private static final int RACKS = 1024;
+    // well past the seeds of any table built with LeaveTableBuilder
+    private static final long FIRST_SEED = 1L << 32;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: LeaveTableBenchmark <word list> <compiled lexicon> <leave table> [games]");
+            System.exit(1);
+        }
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+
+        Dawg dawg = LexiconFile.load(args[1], args[0]);
+        long start = System.nanoTime();
+        LeaveTable leaves = LeaveTable.map(args[2]);
+        System.out.printf("mapped %d leaves in %.2f ms%n", LeaveTable.SIZE, (System.nanoTime() - start) / 1e6);
+
+        SplittableRandom random = new SplittableRandom(0);
+        Rack[] racks = new Rack[RACKS];
+        for (int i = 0; i < RACKS; i++) {
+            racks[i] = new Rack();
+            int size = random.nextInt(LeaveTable.MAX_LEAVE + 1);
+            for (int j = 0; j < size; j++) {
+                racks[i].addIndex(random.nextInt(TileKind.KIND_COUNT));
+            }
+        }
+        double sum = 0;
+        for (int round = 0; round < 2; round++) {
+            start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                sum += leaves.getValue(racks[i & (RACKS - 1)]);
+            }
+            System.out.printf("%s %.1f ns per lookup%n", round == 0 ? "warm up" : "lookups",
+                    (double) (System.nanoTime() - start) / LOOKUPS);
+        }
+        // keeps the lookups from being optimized away
+        System.out.println("checksum " + sum);
+
+        SelfPlay leaveAgainstGreedy = new SelfPlay(dawg, seed -> new LeaveStrategy(dawg, leaves),
+                seed -> new GreedyStrategy(dawg));
+        SelfPlayResult result = leaveAgainstGreedy.run(ForkJoinPool.commonPool(), FIRST_SEED, games);
+        System.out.println("leave/greedy: " + result);
+    }
+}
@@ -0,0 +1,45 @@
+package indy.bench;
+
+import indy.engine.Dawg;
+import indy.engine.LexiconFile;
+import java.io.IOException;
+
+/**
+ * Measures how long it takes to get a Dawg ready when a game starts, first
+ * by building it from the text word list, then by loading the compiled
+ * binary lexicon, which checks the fingerprint of the word list in its
+ * header before mapping it. Takes in the path of the word list and of the compiled
+ * lexicon, and optionally the number of times to repeat each measurement.
+ */
+public class LexiconLoadBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: LexiconLoadBenchmark <word list> <compiled lexicon> [runs]");
+            System.exit(1);
+        }
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        if (!LexiconFile.isCompiledFrom(args[1], args[0])) {
+            throw new IllegalStateException("Compiled lexicon is out of date with the word list");
+        }
+
+        long textNanos = Long.MAX_VALUE;
+        long mappedNanos = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            Dawg fromText = Dawg.load(args[0]);
+            textNanos = Math.min(textNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            Dawg mapped = LexiconFile.load(args[1], args[0]);
+            mappedNanos = Math.min(mappedNanos, System.nanoTime() - start);
+
+            if (fromText.size() != mapped.size()) {
+                throw new IllegalStateException("Compiled lexicon is out of date with the word list");
+            }
+        }
+
+        System.out.printf("text word list:   %8.2f ms%n", textNanos / 1e6);
+        System.out.printf("compiled lexicon: %8.2f ms%n", mappedNanos / 1e6);
+    }
+}
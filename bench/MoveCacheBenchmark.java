@@ -0,0 +1,82 @@
+package indy.bench;
+
+import indy.engine.Dawg;
+import indy.engine.GameState;
+import indy.engine.GreedyStrategy;
+import indy.engine.LexiconFile;
+import indy.engine.Move;
+import indy.engine.MoveCache;
+import indy.engine.MoveGenerator;
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+/**
+ * Plays seeded games in which both players always make the highest scoring
+ * move, and asks for the moves of every position a number of times over, the
+ * way a player asking for hints between shuffling and taking back their tiles
+ * would. Each position is asked once through a MoveGenerator and then the
+ * same number of times through a MoveCache from every thread of the common
+ * ForkJoinPool at once. Prints how long both took and the counters of the
+ * cache, and checks that the cache always handed back as many moves as were
+ * generated. Takes in the path of the word list and of the compiled lexicon,
+ * and optionally the number of games, the number of times each position is
+ * asked for, and the most moves the cache holds.
+ */
+public class MoveCacheBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: MoveCacheBenchmark <word list> <compiled lexicon> [games] [repeats] "
+                    + "[capacity]");
+            System.exit(1);
+        }
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int repeats = args.length > 3 ? Integer.parseInt(args[3]) : 8;
+        int capacity = args.length > 4 ? Integer.parseInt(args[4]) : 1 << 16;
+
+        Dawg dawg = LexiconFile.load(args[1], args[0]);
+        GreedyStrategy greedy = new GreedyStrategy(dawg);
+        MoveGenerator generator = new MoveGenerator(dawg);
+        MoveCache cache = new MoveCache(dawg, capacity);
+        long generatedNanos = 0;
+        long cachedNanos = 0;
+        int positions = 0;
+        for (int game = 0; game < games; game++) {
+            GameState state = new GameState(dawg, game);
+            int passes = 0;
+            while (!state.isOver() && passes < 2) {
+                long start = System.nanoTime();
+                for (int i = 0; i < repeats; i++) {
+                    generator.generate(state.getBoard(), state.getCrossChecks(),
+                            state.getRack(state.getCurrentPlayer()));
+                }
+                generatedNanos += System.nanoTime() - start;
+                int expected = generator.generate(state.getBoard(), state.getCrossChecks(),
+                        state.getRack(state.getCurrentPlayer())).size();
+
+                start = System.nanoTime();
+                boolean same = IntStream.range(0, repeats).parallel().allMatch(i -> cache.generate(state.getBoard(),
+                        state.getCrossChecks(), state.getRack(state.getCurrentPlayer())).size() == expected);
+                cachedNanos += System.nanoTime() - start;
+                if (!same) {
+                    throw new IllegalStateException("The cache handed back the wrong moves in game " + game);
+                }
+                positions++;
+
+                Move move = greedy.chooseMove(state);
+                if (move == null) {
+                    state.pass();
+                    passes++;
+                }
+
+                else {
+                    state.play(move);
+                    passes = 0;
+                }
+            }
+        }
+        System.out.printf("%d positions asked for %d times: generated in %.1f ms, cached in %.1f ms (%.1fx)%n",
+                positions, repeats, generatedNanos / 1e6, cachedNanos / 1e6, (double) generatedNanos / cachedNanos);
+        System.out.println("move cache: " + cache);
+    }
+}
@@ -0,0 +1,117 @@
+package indy.bench;
+
+import indy.engine.AbstractMoveGenerator;
+import indy.engine.BoardGrid;
+import indy.engine.Dawg;
+import indy.engine.Gaddag;
+import indy.engine.GaddagMoveGenerator;
+import indy.engine.LetterValues;
+import indy.engine.LexiconFile;
+import indy.engine.Move;
+import indy.engine.MoveGenerator;
+import indy.engine.Rack;
+import indy.engine.TileBag;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the Dawg based MoveGenerator with the GaddagMoveGenerator on
+ * mid-game boards. The boards come from seeded games in which both players
+ * always make the highest scoring move, sampled between the sixth and twelfth
+ * turn along with the rack of the player to move. Both generators must find
+ * the same number of moves on every board. Takes in the path of the word
+ * list and of the compiled lexicon, and optionally the number of games.
+ */
+public class MoveGeneratorBenchmark {
+    private static final int FIRST_SAMPLED_TURN = 6;
+    private static final int LAST_SAMPLED_TURN = 12;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: MoveGeneratorBenchmark <word list> <compiled lexicon> [games]");
+            System.exit(1);
+        }
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        Dawg dawg = LexiconFile.load(args[1], args[0]);
+        long start = System.nanoTime();
+        Gaddag gaddag = Gaddag.load(args[0]);
+        System.out.printf("built GADDAG in %.0f ms (%d edges, DAWG has %d)%n",
+                (System.nanoTime() - start) / 1e6, gaddag.getGraph().getEdgeCount(), dawg.getEdgeCount());
+
+        MoveGenerator dawgGenerator = new MoveGenerator(dawg);
+        GaddagMoveGenerator gaddagGenerator = new GaddagMoveGenerator(dawg, gaddag);
+
+        List<BoardGrid> boards = new ArrayList<>();
+        List<Rack> racks = new ArrayList<>();
+        samplePositions(dawgGenerator, games, boards, racks);
+
+        for (int i = 0; i < boards.size(); i++) {
+            int dawgMoves = dawgGenerator.generate(boards.get(i), racks.get(i)).size();
+            int gaddagMoves = gaddagGenerator.generate(boards.get(i), racks.get(i)).size();
+            if (dawgMoves != gaddagMoves) {
+                throw new IllegalStateException("Generators disagree on position " + i + ": "
+                        + dawgMoves + " against " + gaddagMoves);
+            }
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            report("DAWG  ", dawgGenerator, boards, racks);
+            report("GADDAG", gaddagGenerator, boards, racks);
+        }
+    }
+
+    /**
+     * Plays the seeded games, always making the highest scoring move, and
+     * collects the boards and racks of the sampled turns.
+     */
+    private static void samplePositions(MoveGenerator generator, int games, List<BoardGrid> boards,
+                                        List<Rack> racks) {
+        for (int game = 0; game < games; game++) {
+            BoardGrid board = new BoardGrid();
+            TileBag bag = new TileBag(game);
+            Rack[] players = {new Rack(), new Rack()};
+
+            for (int turn = 0; turn <= LAST_SAMPLED_TURN; turn++) {
+                Rack rack = players[turn % 2];
+                bag.fillRack(rack);
+                if (turn >= FIRST_SAMPLED_TURN) {
+                    boards.add(new BoardGrid(board));
+                    racks.add(new Rack(rack));
+                }
+
+                Move best = null;
+                for (Move move : generator.generate(board, rack)) {
+                    if (best == null || move.getScore() > best.getScore()) {
+                        best = move;
+                    }
+                }
+                if (best == null) {
+                    break;
+                }
+                for (int i = 0; i < best.size(); i++) {
+                    rack.remove(best.isBlank(i) ? LetterValues.BLANK : best.getLetter(i));
+                }
+                board.placeMove(best);
+            }
+        }
+    }
+
+    /**
+     * Generates the moves of every sampled position with one generator and
+     * prints how many positions and moves it got through per second.
+     */
+    private static void report(String name, AbstractMoveGenerator generator, List<BoardGrid> boards,
+                               List<Rack> racks) {
+        long moves = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < boards.size(); i++) {
+            moves += generator.generate(boards.get(i), racks.get(i)).size();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s %6d positions %10.0f positions/s %12.0f moves/s%n",
+                name, boards.size(), boards.size() / seconds, moves / seconds);
+    }
+}
@@ -0,0 +1,84 @@
+package indy.bench;
+
+import indy.engine.Dawg;
+import indy.engine.GameState;
+import indy.engine.GreedyStrategy;
+import indy.engine.LexiconFile;
+import indy.engine.Move;
+import indy.engine.PreEndgameMove;
+import indy.engine.PreEndgameSolver;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Plays seeded games in which both players always make the highest scoring
+ * move until there are only a few tiles left in the bag, then ranks the
+ * moves of the player to move with a PreEndgameSolver and prints each
+ * candidate's win probability and expected spread, how long the solve took
+ * and how many endgames were solved or reused, followed by how often the
+ * playouts found their moves in the MoveCache. Games in which the bag goes
+ * straight from more tiles than that to none are skipped. Takes in the path
+ * of the word list and of the compiled lexicon, and optionally the number of
+ * games, the most tiles to leave in the bag, the number of candidate moves
+ * and the time limit per endgame in milliseconds.
+ */
+public class PreEndgameBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: PreEndgameBenchmark <word list> <compiled lexicon> [games] [bag tiles] "
+                    + "[candidates] [endgame time limit ms]");
+            System.exit(1);
+        }
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int bagTiles = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+        int candidates = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+        long timeLimit = args.length > 5 ? Long.parseLong(args[5]) : 50;
+
+        Dawg dawg = LexiconFile.load(args[1], args[0]);
+        GreedyStrategy greedy = new GreedyStrategy(dawg);
+        PreEndgameSolver solver = new PreEndgameSolver(dawg, candidates, timeLimit);
+        int solved = 0;
+        int changed = 0;
+        long totalNanos = 0;
+        for (int game = 0; game < games; game++) {
+            GameState state = new GameState(dawg, game);
+            while (!state.isOver() && state.getTileBag().size() > bagTiles) {
+                Move move = greedy.chooseMove(state);
+                if (move == null) {
+                    state.pass();
+                }
+
+                else {
+                    state.play(move);
+                }
+            }
+            if (state.isOver() || state.getTileBag().isEmpty()) {
+                continue;
+            }
+
+            long solvedBefore = solver.getEndgamesSolved();
+            long reusedBefore = solver.getEndgamesReused();
+            long start = System.nanoTime();
+            List<PreEndgameMove> ranking = solver.solve(state);
+            long nanos = System.nanoTime() - start;
+            if (ranking.isEmpty()) {
+                continue;
+            }
+
+            Move greedyMove = greedy.chooseMove(state);
+            solved++;
+            changed += ranking.get(0).getMove().getScore() < greedyMove.getScore() ? 1 : 0;
+            totalNanos += nanos;
+            System.out.printf("game %3d, %d in bag, rack %s: %.0f ms, %d endgames solved, %d reused%n", game,
+                    state.getTileBag().size(), state.getRack(state.getCurrentPlayer()), nanos / 1e6,
+                    solver.getEndgamesSolved() - solvedBefore, solver.getEndgamesReused() - reusedBefore);
+            for (PreEndgameMove move : ranking) {
+                System.out.println("    " + move);
+            }
+        }
+        System.out.printf("%d positions, %.0f ms each, %d where the best move was not the highest scoring%n",
+                solved, totalNanos / 1e6 / solved, changed);
+        System.out.println("move cache: " + solver.getMoveCache());
+    }
+}
@@ -0,0 +1,61 @@
+package indy.bench;
+
+import indy.engine.Dawg;
+import indy.engine.GreedyStrategy;
+import indy.engine.LexiconFile;
+import indy.engine.RandomStrategy;
+import indy.engine.SelfPlay;
+import indy.engine.SelfPlayResult;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Plays seeded games between computer strategies with SelfPlay on pools of one
+ * thread, then twice as many, up to one thread per core, and prints the games
+ * per second, average scores and bingos per game of each run. The same games
+ * are played on every pool, so every run must end with the same scores. Takes
+ * in the path of the word list and of the compiled lexicon, and optionally
+ * the number of games.
+ */
+public class SelfPlayBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SelfPlayBenchmark <word list> <compiled lexicon> [games]");
+            System.exit(1);
+        }
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        Dawg dawg = LexiconFile.load(args[1], args[0]);
+        SelfPlay greedyAgainstRandom = new SelfPlay(dawg, seed -> new GreedyStrategy(dawg),
+                seed -> new RandomStrategy(dawg, seed));
+        SelfPlay greedyAgainstGreedy = new SelfPlay(dawg, seed -> new GreedyStrategy(dawg),
+                seed -> new GreedyStrategy(dawg));
+
+        // warm up
+        greedyAgainstGreedy.run(ForkJoinPool.commonPool(), 0, games / 4);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        SelfPlayResult expected = null;
+        for (int threads = 1; ; threads = Math.min(threads * 2, cores)) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            System.out.printf("greedy/random %2d threads: %s%n", threads,
+                    greedyAgainstRandom.run(pool, 0, games));
+            SelfPlayResult result = greedyAgainstGreedy.run(pool, 0, games);
+            System.out.printf("greedy/greedy %2d threads: %s%n", threads, result);
+            pool.shutdown();
+
+            if (expected == null) {
+                expected = result;
+            }
+
+            else if (result.getAverageScore(0) != expected.getAverageScore(0)
+                    || result.getAverageScore(1) != expected.getAverageScore(1)) {
+                throw new IllegalStateException("Games played on " + threads + " threads ended differently");
+            }
+            if (threads == cores) {
+                break;
+            }
+        }
+    }
+}
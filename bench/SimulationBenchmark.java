@@ -0,0 +1,55 @@
+package indy.bench;
+
+import indy.engine.Dawg;
+import indy.engine.GameState;
+import indy.engine.GreedyStrategy;
+import indy.engine.LexiconFile;
+import indy.engine.SelfPlay;
+import indy.engine.SimulatedMove;
+import indy.engine.SimulationStrategy;
+import indy.engine.Simulator;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Prints the candidates a Simulator ranks on the opening turn of a seeded game
+ * along with how many continuations per second it simulated, then plays games
+ * between a SimulationStrategy and a GreedyStrategy with SelfPlay. Takes in
+ * the path of the word list and of the compiled lexicon, and optionally the
+ * number of games, the number of candidates, the number of iterations per
+ * candidate and the time limit per turn in milliseconds.
+ */
+public class SimulationBenchmark {
+    private static final int PLIES = 2;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SimulationBenchmark <word list> <compiled lexicon> "
+                    + "[games] [candidates] [iterations] [time limit ms]");
+            System.exit(1);
+        }
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int candidates = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int iterations = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+        long timeLimit = args.length > 5 ? Long.parseLong(args[5]) : 1000;
+
+        Dawg dawg = LexiconFile.load(args[1], args[0]);
+        Simulator simulator = new Simulator(dawg, candidates, PLIES, iterations, timeLimit);
+        long start = System.nanoTime();
+        List<SimulatedMove> ranked = simulator.simulate(new GameState(dawg, 0), 0);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long continuations = 0;
+        for (SimulatedMove candidate : ranked) {
+            System.out.println(candidate);
+            continuations += candidate.getIterations();
+        }
+        System.out.printf("%d continuations in %.0f ms, %.0f continuations/s%n",
+                continuations, seconds * 1000, continuations / seconds);
+
+        SelfPlay selfPlay = new SelfPlay(dawg,
+                seed -> new SimulationStrategy(new Simulator(dawg, candidates, PLIES, iterations, timeLimit), seed),
+                seed -> new GreedyStrategy(dawg));
+        System.out.println("simulation/greedy: " + selfPlay.run(ForkJoinPool.commonPool(), 0, games));
+    }
+}
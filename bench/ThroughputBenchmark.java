@@ -0,0 +1,228 @@
+package indy.bench;
+
+import com.sun.management.ThreadMXBean;
+import indy.Constants;
+import indy.engine.Dawg;
+import indy.engine.GameState;
+import indy.engine.GreedyStrategy;
+import indy.engine.LexiconFile;
+import indy.engine.Move;
+import indy.engine.MoveValidator;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Plays a fixed corpus of complete games through the rules and checks the
+ * results against a stored baseline. The corpus is seeded games in which
+ * both players always make the highest scoring move, chosen once up front so
+ * that only the rules are timed: every turn is then played again onto a new
+ * GameState, which validates and scores each play, draws the player's tiles
+ * from the bag, switches turns and records the journal, the way Game does
+ * between reactToPlay, replenishTiles and switchTurn. Every game must end on
+ * the scores it was chosen with.
+ *
+ * After warming up, it measures the moves per second over the measured
+ * rounds, the 50th and 99th percentile of the time taken by a single turn, and
+ * the bytes allocated per turn and per second, read from the ThreadMXBean.
+ * This is done RUNS times, and the median of each measurement is kept, so a
+ * single run slowed down by the rest of the machine does not move it. With
+ * record as the last argument, the medians are written to the baseline file.
+ * Otherwise they are compared with it, and the program exits with status 1 if
+ * any of them is worse than the baseline by more than its threshold, as a
+ * percentage. Timings still vary by 10 to 15% between invocations on the same
+ * machine, so they get a looser threshold than the bytes allocated, which do
+ * not vary at all, and the baseline should be recorded on the machine it is
+ * checked on. Takes in the path of the word list, of the compiled lexicon and
+ * of the baseline, and optionally the number of games, the threshold for
+ * timings, the threshold for allocations and record.
+ */
+public class ThroughputBenchmark {
+    private static final int WARM_UP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int RUNS = 5;
+    private static final String MOVES_PER_SECOND = "movesPerSecond";
+    private static final String P50_NANOS = "p50Nanos";
+    private static final String P99_NANOS = "p99Nanos";
+    private static final String BYTES_PER_MOVE = "bytesPerMove";
+    private static final String GAMES = "games";
+    // the order measure returns the measurements in
+    private static final String[] MEASUREMENTS = {MOVES_PER_SECOND, P50_NANOS, P99_NANOS, BYTES_PER_MOVE};
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: ThroughputBenchmark <word list> <compiled lexicon> <baseline> [games] "
+                    + "[timing threshold %] [allocation threshold %] [record]");
+            System.exit(1);
+        }
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+        double timingThreshold = args.length > 4 ? Double.parseDouble(args[4]) : 30;
+        double allocationThreshold = args.length > 5 ? Double.parseDouble(args[5]) : 5;
+        boolean record = args.length > 6 && args[6].equals("record");
+
+        Dawg dawg = LexiconFile.load(args[1], args[0]);
+        List<List<Move>> corpus = new ArrayList<>();
+        int[][] finalScores = new int[games][];
+        int turns = 0;
+        GreedyStrategy greedy = new GreedyStrategy(dawg);
+        for (int game = 0; game < games; game++) {
+            GameState state = new GameState(dawg, game);
+            List<Move> moves = new ArrayList<>();
+            while (!state.isOver() && state.getConsecutivePasses() < Constants.MAX_CONSECUTIVE_PASSES) {
+                Move move = greedy.chooseMove(state);
+                play(state, move);
+                // a pass is kept as null
+                moves.add(move);
+            }
+            corpus.add(moves);
+            finalScores[game] = new int[] {state.getScore(0), state.getScore(1)};
+            turns += moves.size();
+        }
+        System.out.printf("%d games, %d turns%n", games, turns);
+
+        long[] latencies = new long[turns * MEASURED_ROUNDS];
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            playCorpus(dawg, corpus, finalScores, latencies, 0);
+        }
+        // indexed by measurement, then run
+        long[][] runs = new long[MEASUREMENTS.length][RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long[] measured = measure(dawg, corpus, finalScores, latencies);
+            for (int i = 0; i < MEASUREMENTS.length; i++) {
+                runs[i][run] = measured[i];
+            }
+            System.out.printf("run %d: %d moves/s, p50 %d ns, p99 %d ns, %d B/move%n", run + 1, measured[0],
+                    measured[1], measured[2], measured[3]);
+        }
+
+        Properties result = new Properties();
+        result.setProperty(GAMES, Integer.toString(games));
+        for (int i = 0; i < MEASUREMENTS.length; i++) {
+            Arrays.sort(runs[i]);
+            result.setProperty(MEASUREMENTS[i], Long.toString(runs[i][RUNS / 2]));
+        }
+        System.out.printf("allocation rate %.1f MB/s%n", Long.parseLong(result.getProperty(BYTES_PER_MOVE))
+                * Long.parseLong(result.getProperty(MOVES_PER_SECOND)) / 1e6);
+
+        if (record) {
+            try (OutputStream out = new FileOutputStream(args[2])) {
+                result.store(out, "ThroughputBenchmark baseline, the median of " + RUNS + " runs");
+            }
+            for (String key : MEASUREMENTS) {
+                System.out.printf("%-15s %10s%n", key, result.getProperty(key));
+            }
+            System.out.println("Recorded the baseline in " + args[2]);
+            return;
+        }
+
+        Properties baseline = new Properties();
+        try (InputStream in = new FileInputStream(args[2])) {
+            baseline.load(in);
+        }
+        if (!baseline.getProperty(GAMES, "").equals(result.getProperty(GAMES))) {
+            throw new IllegalArgumentException("The baseline was recorded over " + baseline.getProperty(GAMES)
+                    + " games, not " + games);
+        }
+        boolean regressed = compare(baseline, result, MOVES_PER_SECOND, false, timingThreshold);
+        regressed |= compare(baseline, result, P50_NANOS, true, timingThreshold);
+        regressed |= compare(baseline, result, P99_NANOS, true, timingThreshold);
+        regressed |= compare(baseline, result, BYTES_PER_MOVE, true, allocationThreshold);
+        if (regressed) {
+            System.out.printf("Regressed by more than %.0f%% in timings or %.0f%% in allocations from the baseline%n",
+                    timingThreshold, allocationThreshold);
+            System.exit(1);
+        }
+        System.out.printf("Within %.0f%% in timings and %.0f%% in allocations of the baseline%n", timingThreshold,
+                allocationThreshold);
+    }
+
+    /**
+     * Takes in the dictionary, the corpus of games with the scores each must
+     * end on and an array to put the time taken by each turn of the measured
+     * rounds in, plays the measured rounds and returns the moves per second,
+     * the 50th and 99th percentile time per turn in nanoseconds and the bytes
+     * allocated per turn, in the order of MEASUREMENTS.
+     */
+    private static long[] measure(Dawg dawg, List<List<Move>> corpus, int[][] finalScores, long[] latencies) {
+        int turns = latencies.length / MEASURED_ROUNDS;
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            playCorpus(dawg, corpus, finalScores, latencies, round * turns);
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        Arrays.sort(latencies);
+        return new long[] {
+            Math.round(latencies.length / (nanos / 1e9)),
+            latencies[latencies.length / 2],
+            latencies[(int) (latencies.length * 0.99)],
+            allocated / latencies.length
+        };
+    }
+
+    /**
+     * Takes in the dictionary, the corpus of games with the scores each must
+     * end on, the array to put the time taken by each turn in and where to
+     * start putting them, and plays every game of the corpus through the
+     * rules.
+     */
+    private static void playCorpus(Dawg dawg, List<List<Move>> corpus, int[][] finalScores, long[] latencies,
+                                   int offset) {
+        int turn = offset;
+        for (int game = 0; game < corpus.size(); game++) {
+            GameState state = new GameState(dawg, game);
+            for (Move move : corpus.get(game)) {
+                long start = System.nanoTime();
+                play(state, move);
+                latencies[turn++] = System.nanoTime() - start;
+            }
+            if (state.getScore(0) != finalScores[game][0] || state.getScore(1) != finalScores[game][1]) {
+                throw new IllegalStateException("Game " + game + " ended " + state.getScore(0) + " to "
+                        + state.getScore(1) + " instead of " + finalScores[game][0] + " to " + finalScores[game][1]);
+            }
+        }
+    }
+
+    /**
+     * Takes in a GameState and the move chosen for the current player, and
+     * plays it, or passes if there is none. Throws an IllegalStateException
+     * if the move is invalid.
+     */
+    private static void play(GameState state, Move move) {
+        if (move == null) {
+            state.pass();
+        }
+
+        else if (state.play(move) == MoveValidator.INVALID_MOVE) {
+            throw new IllegalStateException("The rules rejected " + move);
+        }
+    }
+
+    /**
+     * Takes in the baseline and the result, the name of a measurement,
+     * whether lower is better for it and the threshold as a percentage, and
+     * prints how the result compares with the baseline. Returns true if it is
+     * worse by more than the threshold.
+     */
+    private static boolean compare(Properties baseline, Properties result, String key, boolean lowerIsBetter,
+                                   double threshold) {
+        double expected = Double.parseDouble(baseline.getProperty(key));
+        double actual = Double.parseDouble(result.getProperty(key));
+        double change = expected == 0 ? (actual == 0 ? 0 : Double.POSITIVE_INFINITY)
+                : 100 * (actual - expected) / expected;
+        boolean regressed = lowerIsBetter ? change > threshold : change < -threshold;
+        System.out.printf("%-15s %10.0f  baseline %10.0f  %+6.1f%%%s%n", key, actual, expected, change,
+                regressed ? "  REGRESSED" : "");
+        return regressed;
+    }
+}
@@ -0,0 +1,111 @@
+package indy.bench;
+
+import com.sun.management.ThreadMXBean;
+import indy.engine.BoardGrid;
+import indy.engine.CrossChecks;
+import indy.engine.Dawg;
+import indy.engine.LetterValues;
+import indy.engine.LexiconFile;
+import indy.engine.Move;
+import indy.engine.MoveGenerator;
+import indy.engine.MoveValidator;
+import indy.engine.Rack;
+import indy.engine.TileBag;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Checks that validating a move allocates nothing once the validator is warmed
+ * up. A mid-game board is reached by seeded greedy play, then every move that
+ * can be made on it is validated, along with a copy of each with its first
+ * letter changed so that invalid words are rejected too, both with and without
+ * CrossChecks. The bytes allocated by this thread while doing so are read from
+ * the ThreadMXBean, and the program exits with status 1 if there were any.
+ * Takes in the path of the word list and of the compiled lexicon.
+ */
+public class ValidationAllocationCheck {
+    private static final int TURNS = 8;
+    private static final int WARM_UP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 20;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ValidationAllocationCheck <word list> <compiled lexicon>");
+            System.exit(1);
+        }
+
+        Dawg dawg = LexiconFile.load(args[1], args[0]);
+        MoveGenerator generator = new MoveGenerator(dawg);
+        MoveValidator validator = new MoveValidator(dawg);
+        BoardGrid board = new BoardGrid();
+        CrossChecks checks = new CrossChecks(dawg);
+        TileBag bag = new TileBag(0);
+        Rack rack = new Rack();
+
+        for (int turn = 0; turn < TURNS; turn++) {
+            bag.fillRack(rack);
+            Move best = null;
+            for (Move move : generator.generate(board, checks, rack)) {
+                if (best == null || move.getScore() > best.getScore()) {
+                    best = move;
+                }
+            }
+            if (best == null) {
+                break;
+            }
+            for (int i = 0; i < best.size(); i++) {
+                rack.remove(best.isBlank(i) ? LetterValues.BLANK : best.getLetter(i));
+            }
+            board.placeMove(best);
+            checks.movePlaced(board, best);
+        }
+
+        bag.fillRack(rack);
+        List<Move> valid = generator.generate(board, checks, rack);
+        Move[] moves = new Move[valid.size() * 2];
+        for (int i = 0; i < valid.size(); i++) {
+            Move move = valid.get(i);
+            Move changed = new Move();
+            for (int j = 0; j < move.size(); j++) {
+                char letter = j == 0 ? (char) ('A' + (move.getLetter(j) - 'A' + 1) % LetterValues.ALPHABET_SIZE)
+                        : move.getLetter(j);
+                changed.addPlacement(move.getRow(j), move.getCol(j), letter, move.isBlank(j));
+            }
+            moves[2 * i] = move;
+            moves[2 * i + 1] = changed;
+        }
+
+        long checksum = validateAll(validator, board, checks, moves, WARM_UP_ROUNDS);
+
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        checksum += validateAll(validator, board, checks, moves, MEASURED_ROUNDS);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        long validations = (long) moves.length * 2 * MEASURED_ROUNDS;
+        System.out.println(validations + " validations allocated " + allocated + " bytes (checksum "
+                + checksum + ")");
+        if (allocated > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Validates every move the given number of times, both with and without
+     * the CrossChecks, and returns the sum of the scores so that none of the
+     * work can be skipped.
+     */
+    private static long validateAll(MoveValidator validator, BoardGrid board, CrossChecks checks, Move[] moves,
+                                    int rounds) {
+        long sum = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < moves.length; i++) {
+                sum += validator.validate(board, moves[i]);
+                sum += validator.validate(board, checks, moves[i]);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,87 @@
+package indy.bench.jmh;
+
+import indy.engine.Dawg;
+import indy.engine.LexiconFile;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times loading the dictionary, both by building the Dawg from the text word
+ * list and by mapping the compiled lexicon, and looking up single words in
+ * it. The words looked up come from fixtures/words.txt, every valid word
+ * followed by the same word with one letter changed, so that half of the
+ * lookups find a word and half do not.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class DictionaryBenchmark {
+
+    @Param({"../ScrabbleWords.txt"})
+    public String wordList;
+
+    @Param({"../ScrabbleWords.dawg"})
+    public String lexicon;
+
+    private Dawg dawg;
+    private String[] words;
+    // the index of the word looked up last
+    private int next;
+
+    /**
+     * Loads the dictionary and the words to look up, and checks that they
+     * alternate between valid words and invalid ones.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.dawg = LexiconFile.load(this.lexicon, this.wordList);
+        List<String> lines = Position.readFixture("words.txt");
+        this.words = lines.toArray(new String[0]);
+        for (int i = 0; i < this.words.length; i++) {
+            if (this.dawg.contains(this.words[i]) != (i % 2 == 0)) {
+                throw new IllegalStateException(this.words[i] + " should " + (i % 2 == 0 ? "" : "not ")
+                        + "be a valid word");
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Dawg buildFromWordList() throws IOException {
+        return Dawg.load(this.wordList);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 50)
+    public Dawg mapCompiledLexicon() throws IOException {
+        return LexiconFile.map(this.lexicon);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public boolean lookUpWord() {
+        this.next = this.next + 1 < this.words.length ? this.next + 1 : 0;
+        return this.dawg.contains(this.words[this.next]);
+    }
+}
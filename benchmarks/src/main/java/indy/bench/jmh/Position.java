@@ -0,0 +1,136 @@
+package indy.bench.jmh;
+
+import indy.Constants;
+import indy.engine.BoardGrid;
+import indy.engine.CrossChecks;
+import indy.engine.Dawg;
+import indy.engine.Move;
+import indy.engine.MoveValidator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is a fixed position read from a fixture checked in under
+ * fixtures/: the tiles on the board, and a list of moves on it along with the
+ * score each must get, or INVALID_MOVE if it must be rejected. Lines starting
+ * with # are comments. The first fifteen other lines are the rows of the
+ * board, with '.' for an empty square and a lowercase letter for a blank, and
+ * every line after them is a move, written as its placements the way
+ * Move.toString writes them, followed by its score or INVALID.
+ */
+public class Position {
+    private BoardGrid board;
+    private List<Move> moves;
+    private int[] scores;
+
+    /**
+     * The Position constructor takes in the name of a fixture, such as mid,
+     * and reads fixtures/mid.txt from the classpath. Throws an IOException if
+     * it cannot be found or read.
+     */
+    public Position(String name) throws IOException {
+        this.board = new BoardGrid();
+        this.moves = new ArrayList<>();
+        List<Integer> scores = new ArrayList<>();
+        int row = 0;
+        for (String line : readFixture(name + ".txt")) {
+            if (row < Constants.BOARD_ROW) {
+                for (int col = 0; col < Constants.BOARD_COL; col++) {
+                    char square = line.charAt(col);
+                    if (square != '.') {
+                        this.board.placeTile(row, col, Character.toUpperCase(square), Character.isLowerCase(square));
+                    }
+                }
+                row++;
+            }
+
+            else {
+                String[] parts = line.split(" ");
+                Move move = new Move();
+                for (int i = 0; i < parts.length - 1; i++) {
+                    String[] square = parts[i].split("[,=]");
+                    char letter = square[2].charAt(0);
+                    move.addPlacement(Integer.parseInt(square[0]), Integer.parseInt(square[1]),
+                            Character.toUpperCase(letter), Character.isLowerCase(letter));
+                }
+                String score = parts[parts.length - 1];
+                this.moves.add(move);
+                scores.add(score.equals("INVALID") ? MoveValidator.INVALID_MOVE : Integer.parseInt(score));
+            }
+        }
+        this.scores = scores.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns the board, which must not be changed.
+     */
+    public BoardGrid getBoard() {
+        return this.board;
+    }
+
+    /**
+     * Takes in the Dawg of valid words and returns new CrossChecks in sync
+     * with the board.
+     */
+    public CrossChecks getCrossChecks(Dawg dawg) {
+        CrossChecks checks = new CrossChecks(dawg);
+        checks.reset(this.board);
+        return checks;
+    }
+
+    /**
+     * Takes in whether to keep the valid moves or the invalid ones, and
+     * returns those moves.
+     */
+    public Move[] getMoves(boolean valid) {
+        List<Move> kept = new ArrayList<>();
+        for (int i = 0; i < this.moves.size(); i++) {
+            if ((this.scores[i] != MoveValidator.INVALID_MOVE) == valid) {
+                kept.add(this.moves.get(i));
+            }
+        }
+        return kept.toArray(new Move[0]);
+    }
+
+    /**
+     * Takes in a MoveValidator and CrossChecks in sync with the board, or
+     * null, and throws an IllegalStateException if any move is not given the
+     * score the fixture expects, so that a benchmark never times a validator
+     * that gets the wrong answers.
+     */
+    public void check(MoveValidator validator, CrossChecks checks) {
+        for (int i = 0; i < this.moves.size(); i++) {
+            int score = validator.validate(this.board, checks, this.moves.get(i));
+            if (score != this.scores[i]) {
+                throw new IllegalStateException("Expected " + this.scores[i] + " for " + this.moves.get(i)
+                        + " but got " + score);
+            }
+        }
+    }
+
+    /**
+     * Takes in the file name of a fixture and returns its lines other than
+     * comments and blank lines.
+     */
+    static List<String> readFixture(String fileName) throws IOException {
+        InputStream in = Position.class.getResourceAsStream("/fixtures/" + fileName);
+        if (in == null) {
+            throw new IOException("No fixture named " + fileName);
+        }
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    lines.add(line.trim());
+                }
+            }
+        }
+        return lines;
+    }
+}
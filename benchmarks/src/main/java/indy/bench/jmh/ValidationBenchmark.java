@@ -0,0 +1,103 @@
+package indy.bench.jmh;
+
+import indy.engine.BoardGrid;
+import indy.engine.CrossChecks;
+import indy.engine.Dawg;
+import indy.engine.LexiconFile;
+import indy.engine.Move;
+import indy.engine.MoveValidator;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times MoveValidator, which Referee.reactToPlay and Referee.findScore hand
+ * every move to, on the fixed positions in fixtures/: an empty board, a board
+ * in the middle of a game and one once the bag has run out. Each invocation
+ * validates the next move of one kind in the fixture, going around them all.
+ * Scoring the valid moves goes through every word they form, while the
+ * invalid ones are mostly rejected early. Both are timed with the
+ * CrossChecks a Board keeps up to date, the way Referee validates, and with
+ * every cross word walked and looked up instead. Every move is checked
+ * against the score the fixture expects before anything is timed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+    @Param({"empty", "mid", "late"})
+    public String position;
+
+    @Param({"../ScrabbleWords.txt"})
+    public String wordList;
+
+    @Param({"../ScrabbleWords.dawg"})
+    public String lexicon;
+
+    private BoardGrid board;
+    private CrossChecks checks;
+    private MoveValidator validator;
+    private Move[] validMoves;
+    private Move[] invalidMoves;
+    // the index of the move validated last
+    private int next;
+
+    /**
+     * Loads the dictionary and the fixture, and checks every move of it.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Dawg dawg = LexiconFile.load(this.lexicon, this.wordList);
+        Position fixture = new Position(this.position);
+        this.board = fixture.getBoard();
+        this.checks = fixture.getCrossChecks(dawg);
+        this.validator = new MoveValidator(dawg);
+        fixture.check(this.validator, this.checks);
+        fixture.check(this.validator, null);
+        this.validMoves = fixture.getMoves(true);
+        this.invalidMoves = fixture.getMoves(false);
+    }
+
+    @Benchmark
+    public int scoreValidMoves() {
+        return this.validateNext(this.validMoves, this.checks);
+    }
+
+    @Benchmark
+    public int scoreValidMovesWalkingCrossWords() {
+        return this.validateNext(this.validMoves, null);
+    }
+
+    @Benchmark
+    public int rejectInvalidMoves() {
+        return this.validateNext(this.invalidMoves, this.checks);
+    }
+
+    @Benchmark
+    public int rejectInvalidMovesWalkingCrossWords() {
+        return this.validateNext(this.invalidMoves, null);
+    }
+
+    /**
+     * Helper method that validates the next of the moves and returns its
+     * score.
+     */
+    private int validateNext(Move[] moves, CrossChecks checks) {
+        this.next = this.next + 1 < moves.length ? this.next + 1 : 0;
+        return this.validator.validate(this.board, checks, moves[this.next]);
+    }
+}
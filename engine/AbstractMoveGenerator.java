@@ -0,0 +1,327 @@
+package indy.engine;
+
+import indy.Constants;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class holds everything move generators have in common, leaving only
+ * the search for words through each anchor to its subclasses. Anchors are the
+ * empty squares next to a tile already on the board, or the center square on
+ * an empty board, and every move covers at least one of them. A square may only
+ * receive letters that also form a valid word with the tiles above and below
+ * it, which are worked out before the search as a cross-check of allowed
+ * letters for every square, along with the base score of that cross word.
+ *
+ * Horizontal moves are generated in a first pass and vertical moves in a
+ * second pass over the board with rows and cols swapped, so the search itself
+ * only ever deals with words running along a line. The scores match the ones
+ * given by a MoveValidator.
+ */
+public abstract class AbstractMoveGenerator {
+    static final int BLANK_INDEX = Rack.BLANK_INDEX;
+    static final int EMPTY = -1;
+    static final int NO_CROSS_WORD = CrossChecks.NO_CROSS_WORD;
+    private static final int[] ALL_ANCHORS = getAllAnchors();
+
+    Dawg dawg;
+    // worked out from scratch when the caller has no cross-checks in sync with the board
+    CrossChecks crossChecks;
+
+    // the board in the orientation of the current pass, indexed by line then position along it
+    boolean transposed;
+    int[][] letters;
+    int[][] tileValues;
+    int[][] crossMasks;
+    int[][] crossScores;
+    // the anchors of each line, with bit i standing for position i
+    int[] anchors;
+
+    // tiles of the rack that have not been placed yet, counted by letter index with blanks last
+    int[] rackCounts;
+
+    // tiles placed by the move being built
+    int[] placedPositions;
+    int[] placedLetters;
+    boolean[] placedBlanks;
+    int placedCount;
+
+    int line;
+    int anchor;
+    List<Move> moves;
+
+    /**
+     * The AbstractMoveGenerator constructor takes in the Dawg that cross-checks
+     * are worked out with and instantiates the arrays used during the search.
+     */
+    AbstractMoveGenerator(Dawg dawg) {
+        this.dawg = dawg;
+        this.crossChecks = new CrossChecks(dawg);
+        this.letters = new int[Constants.BOARD_ROW][Constants.BOARD_COL];
+        this.tileValues = new int[Constants.BOARD_ROW][Constants.BOARD_COL];
+        this.crossMasks = new int[Constants.BOARD_ROW][Constants.BOARD_COL];
+        this.crossScores = new int[Constants.BOARD_ROW][Constants.BOARD_COL];
+        this.anchors = new int[Constants.BOARD_ROW];
+        this.rackCounts = new int[Dawg.ALPHABET_SIZE + 1];
+        this.placedPositions = new int[Constants.STARTING_PLAYER_TILES];
+        this.placedLetters = new int[Constants.STARTING_PLAYER_TILES];
+        this.placedBlanks = new boolean[Constants.STARTING_PLAYER_TILES];
+    }
+
+    /**
+     * Takes in a BoardGrid and a Rack and returns a list of every legal move
+     * that can be made with tiles from the rack, each with its score set. A
+     * move that places a blank tile is listed once for every letter the blank
+     * could stand in for. Neither the board nor the rack is changed.
+     */
+    public List<Move> generate(BoardGrid board, Rack rack) {
+        this.crossChecks.reset(board);
+        return this.generate(board, this.crossChecks, rack);
+    }
+
+    /**
+     * Works like the generate method above, but takes in CrossChecks that
+     * are already in sync with the board, such as the ones a Board keeps
+     * up to date as tiles are added, instead of working them out again.
+     */
+    public List<Move> generate(BoardGrid board, CrossChecks checks, Rack rack) {
+        return this.generate(board, checks, rack, ALL_ANCHORS, ALL_ANCHORS);
+    }
+
+    /**
+     * Works like the generate method above, but only generates the moves
+     * whose first anchor is one of the given ones, indexed by row and then
+     * by col as an int where bit i stands for col i for moves running
+     * across, and the other way around for moves running down. Every move
+     * covering a given anchor is still found as long as the anchors before
+     * it on its line that the move could also cover are given too. A single
+     * tile forming words both ways is only generated across, as always.
+     */
+    public List<Move> generate(BoardGrid board, CrossChecks checks, Rack rack, int[] rowAnchors,
+                               int[] colAnchors) {
+        this.moves = new ArrayList<>();
+
+        // the rack's histogram is laid out the same way, with blanks last
+        for (int i = 0; i < this.rackCounts.length; i++) {
+            this.rackCounts[i] = rack.getCount(i);
+        }
+
+        if (rack.isEmpty() || this.dawg.getRootNode() == Dawg.NO_NODE) {
+            return this.moves;
+        }
+
+        this.generatePass(board, checks, false, rowAnchors);
+        this.generatePass(board, checks, true, colAnchors);
+        return this.moves;
+    }
+
+    /**
+     * Generates every move covering the current anchor of the current line
+     * whose newly placed tiles cover no anchor before it on that line, since
+     * moves covering that one are generated from it.
+     */
+    abstract void generateFromAnchor();
+
+    /**
+     * Helper method that generates every move running along the lines of the
+     * board in one orientation, rows when not transposed and cols when
+     * transposed, from the anchors whose bits are set in the given ones.
+     */
+    private void generatePass(BoardGrid board, CrossChecks checks, boolean transpose, int[] starts) {
+        this.transposed = transpose;
+        this.readBoard(board, checks, starts);
+
+        for (int line = 0; line < Constants.BOARD_ROW; line++) {
+            this.line = line;
+            for (int bits = this.anchors[line] & starts[line]; bits != 0; bits &= bits - 1) {
+                this.anchor = Integer.numberOfTrailingZeros(bits);
+                this.placedCount = 0;
+                this.generateFromAnchor();
+            }
+        }
+    }
+
+    /**
+     * Copies the letters and values of the tiles on the board into the
+     * orientation of the current pass along with the cross-checks for words
+     * running along its lines, then works out the anchors. Lines with none
+     * of the given anchors are left unread and given no anchors, since the
+     * search of a line never looks at any other.
+     */
+    private void readBoard(BoardGrid board, CrossChecks checks, int[] starts) {
+        int direction = this.transposed ? CrossChecks.DOWN : CrossChecks.ACROSS;
+        for (int line = 0; line < Constants.BOARD_ROW; line++) {
+            if (starts[line] == 0) {
+                this.anchors[line] = 0;
+                continue;
+            }
+            for (int pos = 0; pos < Constants.BOARD_COL; pos++) {
+                int row = this.toRow(line, pos);
+                int col = this.toCol(line, pos);
+                if (board.isOccupied(row, col)) {
+                    this.letters[line][pos] = Dawg.toLetterIndex(board.getLetter(row, col));
+                    this.tileValues[line][pos] = board.isBlank(row, col) ? 0
+                            : LetterValues.getPointValue(board.getLetter(row, col));
+                }
+                else {
+                    this.letters[line][pos] = EMPTY;
+                    this.tileValues[line][pos] = 0;
+                }
+                this.crossMasks[line][pos] = checks.getMask(direction, row, col);
+                this.crossScores[line][pos] = checks.getScore(direction, row, col);
+            }
+            this.anchors[line] = this.transposed ? board.getColAnchors(line) : board.getRowAnchors(line);
+        }
+
+        // the first move of the game is anchored on the center square
+        if (board.isEmpty() && starts[Constants.CENTER_COORD] != 0) {
+            this.anchors[Constants.CENTER_COORD] = 1 << Constants.CENTER_COORD;
+        }
+    }
+
+    /**
+     * Takes in an empty square on the current line and the letter placed on
+     * it, and returns the score of the cross word that letter forms, or zero
+     * if it forms none.
+     */
+    int scoreCrossWord(int pos, int letter, boolean blank) {
+        int baseScore = this.crossScores[this.line][pos];
+        if (baseScore == NO_CROSS_WORD) {
+            return 0;
+        }
+        int value = blank ? 0 : LetterValues.getPointValueOfIndex(letter);
+        return BoardLayout.scoreCrossWord(baseScore, value, this.getSquare(pos));
+    }
+
+    /**
+     * Takes in a square on the current line, a letter, and whether it is
+     * played with a blank tile, and places it as the next tile of the move
+     * being built, taking the tile off the rack.
+     */
+    void placeTile(int pos, int letter, boolean blank) {
+        this.rackCounts[blank ? BLANK_INDEX : letter]--;
+        this.placedPositions[this.placedCount] = pos;
+        this.placedLetters[this.placedCount] = letter;
+        this.placedBlanks[this.placedCount] = blank;
+        this.placedCount++;
+    }
+
+    /**
+     * Takes back the tile most recently placed by placeTile and returns
+     * it to the rack.
+     */
+    void removeLastTile() {
+        this.placedCount--;
+        this.rackCounts[this.placedBlanks[this.placedCount] ? BLANK_INDEX : this.placedLetters[this.placedCount]]++;
+    }
+
+    /**
+     * Takes in where the main word starts and ends, exclusively, and the score
+     * of its cross words, and adds the tiles placed so far to the list of moves
+     * along with their total score. A single tile placed in the vertical pass
+     * that also forms a horizontal word was already found in the horizontal
+     * pass, so it is skipped.
+     */
+    void recordMove(int start, int end, int crossTotal) {
+        if (end - start < 2) {
+            return;
+        }
+        if (this.transposed && this.placedCount == 1
+                && this.crossScores[this.line][this.placedPositions[0]] != NO_CROSS_WORD) {
+            return;
+        }
+
+        int wordScore = 0;
+        int wordFactor = 1;
+        for (int pos = start; pos < end; pos++) {
+            if (this.letters[this.line][pos] != EMPTY) {
+                wordScore += this.tileValues[this.line][pos];
+            }
+            else {
+                int placed = this.findPlacedTile(pos);
+                int square = this.getSquare(pos);
+                if (!this.placedBlanks[placed]) {
+                    wordScore += BoardLayout.scorePlacedTile(
+                            LetterValues.getPointValueOfIndex(this.placedLetters[placed]), square);
+                }
+                wordFactor *= BoardLayout.getWordFactor(square);
+            }
+        }
+
+        int score = wordScore * wordFactor + crossTotal;
+        if (this.placedCount == Constants.STARTING_PLAYER_TILES) {
+            score += Constants.BONUS;
+        }
+
+        Move move = new Move();
+        for (int i = 0; i < this.placedCount; i++) {
+            int pos = this.placedPositions[i];
+            move.addPlacement(this.toRow(this.line, pos), this.toCol(this.line, pos),
+                    (char) ('A' + this.placedLetters[i]), this.placedBlanks[i]);
+        }
+        move.setScore(score);
+        this.moves.add(move);
+    }
+
+    /**
+     * Returns the index of the tile placed on the given position of the
+     * current line by the move being built, or -1 if there is none.
+     */
+    private int findPlacedTile(int pos) {
+        for (int i = 0; i < this.placedCount; i++) {
+            if (this.placedPositions[i] == pos) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if the square at the given line and position of the
+     * current pass is on the board and holds a tile.
+     */
+    boolean isOccupied(int line, int pos) {
+        return line >= 0 && pos >= 0 && line < Constants.BOARD_ROW && pos < Constants.BOARD_COL
+                && this.letters[line][pos] != EMPTY;
+    }
+
+    /**
+     * Returns true if the given position on the current line is an anchor.
+     */
+    boolean isAnchor(int pos) {
+        return (this.anchors[this.line] & (1 << pos)) != 0;
+    }
+
+    /**
+     * Returns the index of the square at the given position on the current
+     * line, for looking up its factors in the BoardLayout.
+     */
+    int getSquare(int pos) {
+        return Bitboard.index(this.toRow(this.line, pos), this.toCol(this.line, pos));
+    }
+
+    /**
+     * Converts a line and position of the current pass into a row.
+     */
+    int toRow(int line, int pos) {
+        return this.transposed ? pos : line;
+    }
+
+    /**
+     * Converts a line and position of the current pass into a col.
+     */
+    int toCol(int line, int pos) {
+        return this.transposed ? line : pos;
+    }
+
+    /**
+     * Helper method that returns every anchor of every line, for generating
+     * moves from all of them.
+     */
+    private static int[] getAllAnchors() {
+        int[] anchors = new int[Constants.BOARD_ROW];
+        Arrays.fill(anchors, Bitboard.FULL_LINE);
+        return anchors;
+    }
+}
@@ -0,0 +1,45 @@
+package indy.engine;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * This class validates and scores candidate moves against a BoardSnapshot and
+ * may be shared by any number of threads. A MoveValidator reuses its buffers
+ * from one move to the next, so each thread is given its own, while the
+ * snapshot and the Dawg are only ever read. A whole batch of candidates is
+ * split across the threads of the common ForkJoinPool.
+ */
+public class BatchValidator {
+    private ThreadLocal<MoveValidator> validators;
+
+    /**
+     * The BatchValidator constructor takes in the Dawg of valid words that
+     * the validators of every thread check against.
+     */
+    public BatchValidator(Dawg dawg) {
+        this.validators = ThreadLocal.withInitial(() -> new MoveValidator(dawg));
+    }
+
+    /**
+     * Takes in a BoardSnapshot and a Move that has not been played on it,
+     * and returns the score of the move if it is valid or
+     * MoveValidator.INVALID_MOVE if it is not.
+     */
+    public int validate(BoardSnapshot snapshot, Move move) {
+        return this.validators.get().validate(snapshot.getGrid(), snapshot.getCrossChecks(), move);
+    }
+
+    /**
+     * Takes in a BoardSnapshot and a List of candidate Moves, none of which
+     * may be changed until this returns, and validates them in parallel.
+     * Returns an array holding, at the index of each move, its score or
+     * MoveValidator.INVALID_MOVE.
+     */
+    public int[] validateAll(BoardSnapshot snapshot, List<Move> moves) {
+        int[] scores = new int[moves.size()];
+        IntStream.range(0, scores.length).parallel()
+                .forEach(i -> scores[i] = this.validate(snapshot, moves.get(i)));
+        return scores;
+    }
+}
@@ -0,0 +1,122 @@
+package indy.engine;
+
+import indy.Constants;
+
+/**
+ * This class is a set of squares on the board stored as one bit per square,
+ * packed into longs. The square at a row and col is bit row * BOARD_COL + col,
+ * so each row of the board is a run of BOARD_COL consecutive bits that can be
+ * read out as a single int, where bit i stands for col i. A BoardGrid keeps one
+ * Bitboard in this row-major order and one with rows and cols swapped, so that
+ * both the rows and the cols of the board can be read out a whole line at once
+ * and questions like which squares touch a tile become a few bit operations.
+ */
+public class Bitboard {
+    public static final int SQUARES = Constants.BOARD_ROW * Constants.BOARD_COL;
+    public static final int FULL_LINE = (1 << Constants.BOARD_COL) - 1;
+
+    private long[] words;
+
+    /**
+     * The Bitboard constructor instantiates a set with no squares in it.
+     */
+    public Bitboard() {
+        this.words = new long[(SQUARES + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    /**
+     * Copy constructor that takes in another Bitboard and instantiates a set
+     * holding the same squares.
+     */
+    public Bitboard(Bitboard other) {
+        this.words = other.words.clone();
+    }
+
+    /**
+     * Takes in the index of a square and adds it to the set.
+     */
+    public void set(int index) {
+        this.words[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Takes in the index of a square and removes it from the set.
+     */
+    public void clear(int index) {
+        this.words[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * Takes in the index of a square and returns true if it is in the set.
+     */
+    public boolean get(int index) {
+        return (this.words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Takes in the number of a line and returns the bits of that line as an
+     * int, where bit i stands for position i along the line. A line may
+     * straddle two of the longs.
+     */
+    public int getLine(int line) {
+        int start = line * Constants.BOARD_COL;
+        int word = start >>> 6;
+        int offset = start & 63;
+        long bits = this.words[word] >>> offset;
+        if (offset + Constants.BOARD_COL > Long.SIZE) {
+            bits |= this.words[word + 1] << (Long.SIZE - offset);
+        }
+        return (int) bits & FULL_LINE;
+    }
+
+    /**
+     * Takes in another Bitboard and returns true if the two sets have a
+     * square in common.
+     */
+    public boolean intersects(Bitboard other) {
+        for (int i = 0; i < this.words.length; i++) {
+            if ((this.words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if no squares are in the set.
+     */
+    public boolean isEmpty() {
+        for (long word : this.words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of squares in the set.
+     */
+    public int count() {
+        int count = 0;
+        for (long word : this.words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Takes in the row and col of a square and returns its index.
+     */
+    public static int index(int row, int col) {
+        return row * Constants.BOARD_COL + col;
+    }
+
+    /**
+     * Takes in the bits of a line and returns the bits of the positions
+     * directly before or after a set position, staying within the line.
+     */
+    public static int neighbors(int lineBits) {
+        return ((lineBits << 1) | (lineBits >>> 1)) & FULL_LINE;
+    }
+}
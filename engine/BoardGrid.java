@@ -0,0 +1,239 @@
+package indy.engine;
+
+import indy.Constants;
+
+/**
+ * This class models the tiles on a Scrabble board without any graphics. It
+ * stores the letter that occupies every square, along with whether that
+ * letter was played with a blank tile, so that moves can be validated and
+ * scored headlessly. An empty square holds the EMPTY character.
+ *
+ * The letters are kept in a byte array in row-major order, and which squares
+ * are occupied is also kept as two Bitboards, one row-major and one
+ * col-major, so that a whole row or col of the board can be read as an int
+ * and adjacency, anchors and connectivity are worked out with bit operations
+ * instead of probing squares one at a time.
+ *
+ * The Zobrist hash of the tiles on the board, which tells apart the same
+ * letter played with a blank and with a lettered tile, is kept up to date as
+ * tiles are placed and removed, so that a position can be looked up in a
+ * cache or table without walking the board.
+ */
+public class BoardGrid {
+    public static final char EMPTY = 0;
+
+    private byte[] letters;
+    private Bitboard blanks;
+    private Bitboard occupied;
+    // the same squares as occupied, indexed by col * BOARD_ROW + row
+    private Bitboard occupiedTransposed;
+    private int tileCount;
+    private long hash;
+
+    /**
+     * The BoardGrid constructor instantiates an empty board of the
+     * standard size.
+     */
+    public BoardGrid() {
+        this.letters = new byte[Bitboard.SQUARES];
+        this.blanks = new Bitboard();
+        this.occupied = new Bitboard();
+        this.occupiedTransposed = new Bitboard();
+        this.tileCount = 0;
+        this.hash = 0;
+    }
+
+    /**
+     * Copy constructor that takes in another BoardGrid and instantiates
+     * a board with the same tiles on it.
+     */
+    public BoardGrid(BoardGrid other) {
+        this.letters = other.letters.clone();
+        this.blanks = new Bitboard(other.blanks);
+        this.occupied = new Bitboard(other.occupied);
+        this.occupiedTransposed = new Bitboard(other.occupiedTransposed);
+        this.tileCount = other.tileCount;
+        this.hash = other.hash;
+    }
+
+    /**
+     * Takes in two ints representing a row and col and returns true if
+     * that location lies within the bounds of the board.
+     */
+    public static boolean isOnBoard(int row, int col) {
+        return row >= 0 && col >= 0 && row < Constants.BOARD_ROW && col < Constants.BOARD_COL;
+    }
+
+    /**
+     * Takes in two ints representing a row and col and returns the letter
+     * on that square, or EMPTY if there is no tile there or the location
+     * is off the board.
+     */
+    public char getLetter(int row, int col) {
+        if (!isOnBoard(row, col)) {
+            return EMPTY;
+        }
+        return (char) this.letters[Bitboard.index(row, col)];
+    }
+
+    /**
+     * Takes in two ints representing a row and col and returns true if
+     * there is a tile on that square.
+     */
+    public boolean isOccupied(int row, int col) {
+        return isOnBoard(row, col) && this.occupied.get(Bitboard.index(row, col));
+    }
+
+    /**
+     * Takes in two ints representing a row and col and returns true if the
+     * tile on that square is a blank tile, which is worth no points.
+     */
+    public boolean isBlank(int row, int col) {
+        return isOnBoard(row, col) && this.blanks.get(Bitboard.index(row, col));
+    }
+
+    /**
+     * Takes in the row and col of an empty square, the letter to place there,
+     * and whether it is a blank tile, and adds that tile to the board.
+     */
+    public void placeTile(int row, int col, char letter, boolean blank) {
+        if (this.isOccupied(row, col)) {
+            throw new IllegalStateException("Square " + row + "," + col + " is already occupied");
+        }
+        int index = Bitboard.index(row, col);
+        this.letters[index] = (byte) letter;
+        if (blank) {
+            this.blanks.set(index);
+        }
+        this.occupied.set(index);
+        this.occupiedTransposed.set(col * Constants.BOARD_ROW + row);
+        this.tileCount++;
+        this.hash ^= Zobrist.getTileKey(index, letter, blank);
+    }
+
+    /**
+     * Takes in a Move and adds every tile it places to the board.
+     */
+    public void placeMove(Move move) {
+        for (int i = 0; i < move.size(); i++) {
+            this.placeTile(move.getRow(i), move.getCol(i), move.getLetter(i), move.isBlank(i));
+        }
+    }
+
+    /**
+     * Takes in the row and col of an occupied square and takes the tile on
+     * it back off the board, so that a search can undo a move it tried.
+     */
+    public void removeTile(int row, int col) {
+        if (!this.isOccupied(row, col)) {
+            throw new IllegalStateException("Square " + row + "," + col + " is empty");
+        }
+        int index = Bitboard.index(row, col);
+        this.hash ^= Zobrist.getTileKey(index, (char) this.letters[index], this.blanks.get(index));
+        this.letters[index] = EMPTY;
+        this.blanks.clear(index);
+        this.occupied.clear(index);
+        this.occupiedTransposed.clear(col * Constants.BOARD_ROW + row);
+        this.tileCount--;
+    }
+
+    /**
+     * Takes in a Move that was added to the board and takes every tile it
+     * placed back off the board.
+     */
+    public void removeMove(Move move) {
+        for (int i = 0; i < move.size(); i++) {
+            this.removeTile(move.getRow(i), move.getCol(i));
+        }
+    }
+
+    /**
+     * Takes in a row and returns which of its squares hold a tile, as an
+     * int where bit i stands for col i.
+     */
+    public int getRowBits(int row) {
+        return this.occupied.getLine(row);
+    }
+
+    /**
+     * Takes in a col and returns which of its squares hold a tile, as an
+     * int where bit i stands for row i.
+     */
+    public int getColBits(int col) {
+        return this.occupiedTransposed.getLine(col);
+    }
+
+    /**
+     * Takes in a row and returns which of its empty squares are anchors,
+     * meaning they are next to a tile in the same row or directly above or
+     * below one, as an int where bit i stands for col i.
+     */
+    public int getRowAnchors(int row) {
+        int bits = this.getRowBits(row);
+        int touching = Bitboard.neighbors(bits);
+        if (row > 0) {
+            touching |= this.getRowBits(row - 1);
+        }
+        if (row < Constants.BOARD_ROW - 1) {
+            touching |= this.getRowBits(row + 1);
+        }
+        return touching & ~bits;
+    }
+
+    /**
+     * Takes in a col and returns which of its empty squares are anchors,
+     * as an int where bit i stands for row i.
+     */
+    public int getColAnchors(int col) {
+        int bits = this.getColBits(col);
+        int touching = Bitboard.neighbors(bits);
+        if (col > 0) {
+            touching |= this.getColBits(col - 1);
+        }
+        if (col < Constants.BOARD_COL - 1) {
+            touching |= this.getColBits(col + 1);
+        }
+        return touching & ~bits;
+    }
+
+    /**
+     * Takes in a row and col and returns true if there is a tile on one of
+     * the squares directly next to it.
+     */
+    public boolean touchesTile(int row, int col) {
+        if (!isOnBoard(row, col)) {
+            return false;
+        }
+        return (this.getRowBits(row) & Bitboard.neighbors(1 << col)) != 0
+                || (this.getColBits(col) & Bitboard.neighbors(1 << row)) != 0;
+    }
+
+    /**
+     * Returns a copy of the Bitboard of occupied squares, in row-major order.
+     */
+    public Bitboard getOccupied() {
+        return new Bitboard(this.occupied);
+    }
+
+    /**
+     * Returns true if no tiles have been added to the board yet, meaning
+     * the next move is the first move of the game.
+     */
+    public boolean isEmpty() {
+        return this.tileCount == 0;
+    }
+
+    /**
+     * Returns the number of tiles on the board.
+     */
+    public int getTileCount() {
+        return this.tileCount;
+    }
+
+    /**
+     * Returns the Zobrist hash of the tiles on the board.
+     */
+    public long getHash() {
+        return this.hash;
+    }
+}
@@ -0,0 +1,123 @@
+package indy.engine;
+
+import indy.Constants;
+
+/**
+ * This class describes where the special squares sit on the Scrabble board.
+ * It is the single source of the board layout, used both by the graphical
+ * Board when generating its squares and by the headless engine when scoring.
+ *
+ * The tile factor and word factor of every square are also worked out once
+ * into two tables indexed like a Bitboard, by row * BOARD_COL + col, so that
+ * scoring a word costs a couple of array loads per tile rather than working
+ * out the SquareType of each square again.
+ */
+public final class BoardLayout {
+    private static final int[] TILE_FACTORS = new int[Bitboard.SQUARES];
+    private static final int[] WORD_FACTORS = new int[Bitboard.SQUARES];
+
+    static {
+        for (int row = 0; row < Constants.BOARD_ROW; row++) {
+            for (int col = 0; col < Constants.BOARD_COL; col++) {
+                SquareType square = getSquareType(row, col);
+                TILE_FACTORS[Bitboard.index(row, col)] = square.getTileFactor();
+                WORD_FACTORS[Bitboard.index(row, col)] = square.getWordFactor();
+            }
+        }
+    }
+
+    private BoardLayout() {
+    }
+
+    /**
+     * Takes in the index of a square and returns the factor a newly placed
+     * tile's value is multiplied by on it.
+     */
+    public static int getTileFactor(int square) {
+        return TILE_FACTORS[square];
+    }
+
+    /**
+     * Takes in the index of a square and returns the factor a whole word's
+     * value is multiplied by when a newly placed tile covers it.
+     */
+    public static int getWordFactor(int square) {
+        return WORD_FACTORS[square];
+    }
+
+    /**
+     * Takes in the point value of a tile newly placed on a square and the
+     * index of that square, and returns what the tile adds to its word.
+     */
+    public static int scorePlacedTile(int value, int square) {
+        return value * TILE_FACTORS[square];
+    }
+
+    /**
+     * Takes in the points of the tiles already in a cross word, the point
+     * value of the newly placed tile that completes it, and the index of the
+     * square that tile is placed on, and returns the score of the cross word.
+     */
+    public static int scoreCrossWord(int baseScore, int value, int square) {
+        return (baseScore + value * TILE_FACTORS[square]) * WORD_FACTORS[square];
+    }
+
+    /**
+     * Takes in two ints representing a row and col on the board and returns
+     * the SquareType at that location: the triple word squares on the edges
+     * and center lines, the double word squares and the letter squares on
+     * both diagonals, and the remaining letter squares in boomerang formation
+     * on four sides of the board.
+     */
+    public static SquareType getSquareType(int row, int col) {
+        // first the TWS
+        if (row == 0 || row == Constants.BOARD_CENTER_ROW_COL || row == Constants.BOARD_ROW - 1) {
+            if (col == 0 || col == Constants.BOARD_CENTER_ROW_COL || col == Constants.BOARD_COL - 1) {
+                // make an exception to this for center square, which is DWS
+                if (row == Constants.BOARD_CENTER_ROW_COL && col == Constants.BOARD_CENTER_ROW_COL) {
+                    return SquareType.DOUBLE_WORD;
+                }
+                return SquareType.TRIPLE_WORD;
+            }
+            else if (col == Constants.THREE_COL_DLS || col == Constants.ELEVEN_COL_DLS) {
+                return SquareType.DOUBLE_LETTER;
+            }
+        }
+
+        // all special squares on both diagonals
+        else if (row >= 1 && row == col || row + col == Constants.BOARD_COL - 1) {
+            if (row < Constants.FIVE_ROW_DWS || row > Constants.NINE_ROW_DWS
+                    && row < Constants.BOARD_ROW - 1) {
+                return SquareType.DOUBLE_WORD;
+            }
+
+            else if (row == Constants.FIVE_ROW_TLS || row == Constants.NINE_ROW_TLS) {
+                return SquareType.TRIPLE_LETTER;
+            }
+
+            else if (row == Constants.SIX_ROW_DLS || row == Constants.EIGHT_ROW_DLS) {
+                return SquareType.DOUBLE_LETTER;
+            }
+        }
+
+        // remaining TLS
+        else if ((row == 1 || row == Constants.THIRTEEN_ROW_TLS) && (col == Constants.FIVE_COL_TLS
+                || col == Constants.NINE_COL_TLS) ||
+                (row == Constants.FIVE_ROW_TLS || row == Constants.NINE_ROW_TLS) &&
+                        (col == 1 || col == Constants.THIRTEEN_COL_TLS)) {
+            return SquareType.TRIPLE_LETTER;
+        }
+
+        // remaining DLS
+        else if ((row == Constants.TWO_ROW_DLS || row == Constants.TWELVE_ROW_DLS) &&
+                (col == Constants.SIX_COL_DLS || col == Constants.EIGHT_COL_DLS) ||
+                (row == Constants.THREE_ROW_DLS || row == Constants.ELEVEN_ROW_DLS) &&
+                        (col == 0 || col == Constants.BOARD_CENTER_ROW_COL || col == Constants.BOARD_COL - 1)
+                || (row == Constants.SIX_ROW_DLS || row == Constants.EIGHT_ROW_DLS) &&
+                (col == Constants.TWO_COL_DLS || col == Constants.TWELVE_COL_DLS)) {
+            return SquareType.DOUBLE_LETTER;
+        }
+
+        return SquareType.NORMAL;
+    }
+}
@@ -0,0 +1,92 @@
+package indy.engine;
+
+/**
+ * This class is an immutable copy of the tiles on a board at one moment,
+ * along with the CrossChecks of that board. Nothing can be placed on a
+ * snapshot once it is taken, so it can be read from any number of threads at
+ * once without locking, and it stays the same while the game it was taken
+ * from goes on.
+ */
+public final class BoardSnapshot {
+    private final BoardGrid board;
+    private final CrossChecks crossChecks;
+
+    /**
+     * The BoardSnapshot constructor takes in a BoardGrid and CrossChecks
+     * that are in sync with it, and copies both.
+     */
+    public BoardSnapshot(BoardGrid board, CrossChecks checks) {
+        this.board = new BoardGrid(board);
+        this.crossChecks = new CrossChecks(checks);
+    }
+
+    /**
+     * Takes in a BoardGrid and the Dawg of valid words, and copies the board,
+     * working out its CrossChecks from scratch.
+     */
+    public BoardSnapshot(BoardGrid board, Dawg dawg) {
+        this.board = new BoardGrid(board);
+        this.crossChecks = new CrossChecks(dawg);
+        this.crossChecks.reset(this.board);
+    }
+
+    /**
+     * Takes in two ints representing a row and col and returns the letter
+     * on that square, or BoardGrid.EMPTY if there is no tile there.
+     */
+    public char getLetter(int row, int col) {
+        return this.board.getLetter(row, col);
+    }
+
+    /**
+     * Takes in two ints representing a row and col and returns true if
+     * there is a tile on that square.
+     */
+    public boolean isOccupied(int row, int col) {
+        return this.board.isOccupied(row, col);
+    }
+
+    /**
+     * Takes in two ints representing a row and col and returns true if the
+     * tile on that square is a blank tile.
+     */
+    public boolean isBlank(int row, int col) {
+        return this.board.isBlank(row, col);
+    }
+
+    /**
+     * Returns the Zobrist hash of the tiles on the board.
+     */
+    public long getHash() {
+        return this.board.getHash();
+    }
+
+    /**
+     * Returns the number of tiles on the board.
+     */
+    public int getTileCount() {
+        return this.board.getTileCount();
+    }
+
+    /**
+     * Returns a new BoardGrid with the same tiles as the snapshot, which
+     * can be changed without affecting it.
+     */
+    public BoardGrid toBoardGrid() {
+        return new BoardGrid(this.board);
+    }
+
+    /**
+     * Returns the board of the snapshot, which must only be read.
+     */
+    BoardGrid getGrid() {
+        return this.board;
+    }
+
+    /**
+     * Returns the CrossChecks of the snapshot, which must only be read.
+     */
+    CrossChecks getCrossChecks() {
+        return this.crossChecks;
+    }
+}
@@ -0,0 +1,266 @@
+package indy.engine;
+
+import indy.Constants;
+
+/**
+ * This class keeps track of which letters may be placed on every empty square
+ * of a BoardGrid, given the tiles next to it. A letter placed on a square as
+ * part of a word running ACROSS also forms a word with the tiles directly
+ * above and below it, and as part of a word running DOWN it forms a word with
+ * the tiles directly left and right of it. For each direction, every empty
+ * square has a cross-check mask with one bit per letter that forms a valid
+ * cross word there, and the base score of that cross word, which is the
+ * points of the tiles already in it, or NO_CROSS_WORD if there are no such
+ * tiles and any letter may be placed.
+ *
+ * Placing a tile only changes the cross-checks of the nearest empty squares
+ * at either end of the lines running through it, so tilePlaced updates those
+ * squares instead of rescanning the whole board, and tileRemoved does the same
+ * when a search takes a tile back off.
+ */
+public class CrossChecks {
+    public static final int ACROSS = 0;
+    public static final int DOWN = 1;
+    public static final int ALL_LETTERS = (1 << Dawg.ALPHABET_SIZE) - 1;
+    public static final int NO_CROSS_WORD = -1;
+
+    private Dawg dawg;
+    // indexed by direction, then row, then col
+    private int[][][] masks;
+    private int[][][] scores;
+
+    /**
+     * The CrossChecks constructor takes in the Dawg that cross words are
+     * checked against and starts out describing an empty board, where any
+     * letter may be placed anywhere.
+     */
+    public CrossChecks(Dawg dawg) {
+        this.dawg = dawg;
+        this.masks = new int[2][Constants.BOARD_ROW][Constants.BOARD_COL];
+        this.scores = new int[2][Constants.BOARD_ROW][Constants.BOARD_COL];
+        for (int direction = ACROSS; direction <= DOWN; direction++) {
+            for (int row = 0; row < Constants.BOARD_ROW; row++) {
+                for (int col = 0; col < Constants.BOARD_COL; col++) {
+                    this.masks[direction][row][col] = ALL_LETTERS;
+                    this.scores[direction][row][col] = NO_CROSS_WORD;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy constructor that takes in other CrossChecks and instantiates
+     * cross-checks describing the same board, checked against the same Dawg.
+     */
+    public CrossChecks(CrossChecks other) {
+        this.dawg = other.dawg;
+        this.masks = new int[2][Constants.BOARD_ROW][];
+        this.scores = new int[2][Constants.BOARD_ROW][];
+        for (int direction = ACROSS; direction <= DOWN; direction++) {
+            for (int row = 0; row < Constants.BOARD_ROW; row++) {
+                this.masks[direction][row] = other.masks[direction][row].clone();
+                this.scores[direction][row] = other.scores[direction][row].clone();
+            }
+        }
+    }
+
+    /**
+     * Takes in a BoardGrid and works out the cross-checks of every square
+     * from scratch, for when they are not already in sync with the board.
+     */
+    public void reset(BoardGrid board) {
+        for (int row = 0; row < Constants.BOARD_ROW; row++) {
+            for (int col = 0; col < Constants.BOARD_COL; col++) {
+                this.compute(board, ACROSS, row, col);
+                this.compute(board, DOWN, row, col);
+            }
+        }
+    }
+
+    /**
+     * Takes in a BoardGrid that a tile was just added to and the row and col
+     * of that tile, and updates the cross-checks of the squares it affects:
+     * the first empty squares above and below it for words running ACROSS,
+     * and the first empty squares left and right of it for words running DOWN.
+     */
+    public void tilePlaced(BoardGrid board, int row, int col) {
+        this.masks[ACROSS][row][col] = 0;
+        this.masks[DOWN][row][col] = 0;
+        this.scores[ACROSS][row][col] = NO_CROSS_WORD;
+        this.scores[DOWN][row][col] = NO_CROSS_WORD;
+
+        this.updateNearestEmpty(board, ACROSS, row, col, -1);
+        this.updateNearestEmpty(board, ACROSS, row, col, 1);
+        this.updateNearestEmpty(board, DOWN, row, col, -1);
+        this.updateNearestEmpty(board, DOWN, row, col, 1);
+    }
+
+    /**
+     * Takes in a BoardGrid that a Move was just added to and updates the
+     * cross-checks of the squares affected by each of its tiles.
+     */
+    public void movePlaced(BoardGrid board, Move move) {
+        for (int i = 0; i < move.size(); i++) {
+            this.tilePlaced(board, move.getRow(i), move.getCol(i));
+        }
+    }
+
+    /**
+     * Takes in a BoardGrid that a tile was just taken off and the row and
+     * col of that tile, and updates the cross-checks of the squares it
+     * affected: the square itself, and the first empty squares past the
+     * tiles on either side of it in both directions.
+     */
+    public void tileRemoved(BoardGrid board, int row, int col) {
+        this.compute(board, ACROSS, row, col);
+        this.compute(board, DOWN, row, col);
+
+        this.updateNearestEmpty(board, ACROSS, row - 1, col, -1);
+        this.updateNearestEmpty(board, ACROSS, row + 1, col, 1);
+        this.updateNearestEmpty(board, DOWN, row, col - 1, -1);
+        this.updateNearestEmpty(board, DOWN, row, col + 1, 1);
+    }
+
+    /**
+     * Takes in a BoardGrid that every tile of a Move was just taken off and
+     * updates the cross-checks of the squares affected by each of them.
+     */
+    public void moveRemoved(BoardGrid board, Move move) {
+        for (int i = 0; i < move.size(); i++) {
+            this.tileRemoved(board, move.getRow(i), move.getCol(i));
+        }
+    }
+
+    /**
+     * Returns the mask of letters that may be placed on the square as part
+     * of a word in the given direction, with bit 0 standing for A.
+     */
+    public int getMask(int direction, int row, int col) {
+        return this.masks[direction][row][col];
+    }
+
+    /**
+     * Returns the points of the tiles already in the cross word formed by a
+     * letter placed on the square as part of a word in the given direction,
+     * or NO_CROSS_WORD if no cross word is formed.
+     */
+    public int getScore(int direction, int row, int col) {
+        return this.scores[direction][row][col];
+    }
+
+    /**
+     * Returns true if the letter, given by its index, may be placed on the
+     * square as part of a word in the given direction.
+     */
+    public boolean allows(int direction, int row, int col, int letter) {
+        return (this.masks[direction][row][col] & (1 << letter)) != 0;
+    }
+
+    /**
+     * Takes in a square and the letter placed on it as part of a word in the
+     * given direction, and returns the score of the cross word it forms,
+     * counting the special square beneath it, or zero if it forms none.
+     */
+    public int scoreCrossWord(int direction, int row, int col, char letter, boolean blank) {
+        int baseScore = this.scores[direction][row][col];
+        if (baseScore == NO_CROSS_WORD) {
+            return 0;
+        }
+        int value = blank ? 0 : LetterValues.getPointValue(letter);
+        return BoardLayout.scoreCrossWord(baseScore, value, Bitboard.index(row, col));
+    }
+
+    /**
+     * Helper method that walks from a square across any tiles on and after
+     * it, in the direction the cross words of the given direction run and
+     * going forwards or backwards by step, and recomputes the cross-check of
+     * the first empty square it reaches.
+     */
+    private void updateNearestEmpty(BoardGrid board, int direction, int row, int col, int step) {
+        int dRow = direction == ACROSS ? step : 0;
+        int dCol = direction == ACROSS ? 0 : step;
+        while (board.isOccupied(row, col)) {
+            row += dRow;
+            col += dCol;
+        }
+        if (BoardGrid.isOnBoard(row, col)) {
+            this.compute(board, direction, row, col);
+        }
+    }
+
+    /**
+     * Helper method that works out the cross-check of one square for words
+     * in the given direction. Occupied squares allow nothing. If there are
+     * no tiles next to an empty square across the direction, any letter may
+     * be placed. Otherwise, a letter is allowed if the tiles before it, the
+     * letter, and the tiles after it spell a valid word.
+     */
+    private void compute(BoardGrid board, int direction, int row, int col) {
+        int dRow = direction == ACROSS ? 1 : 0;
+        int dCol = direction == ACROSS ? 0 : 1;
+        if (board.isOccupied(row, col)) {
+            this.masks[direction][row][col] = 0;
+            this.scores[direction][row][col] = NO_CROSS_WORD;
+            return;
+        }
+        if (!board.isOccupied(row - dRow, col - dCol) && !board.isOccupied(row + dRow, col + dCol)) {
+            this.masks[direction][row][col] = ALL_LETTERS;
+            this.scores[direction][row][col] = NO_CROSS_WORD;
+            return;
+        }
+
+        int firstRow = row;
+        int firstCol = col;
+        while (board.isOccupied(firstRow - dRow, firstCol - dCol)) {
+            firstRow -= dRow;
+            firstCol -= dCol;
+        }
+
+        // walk the tiles before the square through the Dawg
+        int node = this.dawg.getRootNode();
+        int score = 0;
+        for (int r = firstRow, c = firstCol; r != row || c != col; r += dRow, c += dCol) {
+            score += this.getTileValue(board, r, c);
+            int edge = node == Dawg.NO_NODE ? Dawg.NO_EDGE
+                    : this.dawg.findEdge(node, Dawg.toLetterIndex(board.getLetter(r, c)));
+            node = edge == Dawg.NO_EDGE ? Dawg.NO_NODE : this.dawg.getChildNode(edge);
+        }
+
+        for (int r = row + dRow, c = col + dCol; board.isOccupied(r, c); r += dRow, c += dCol) {
+            score += this.getTileValue(board, r, c);
+        }
+
+        int mask = 0;
+        for (int edge = this.dawg.getFirstEdge(node); edge != Dawg.NO_EDGE; edge = this.dawg.getNextEdge(edge)) {
+            if (this.spellsWordAfter(board, edge, row + dRow, col + dCol, dRow, dCol)) {
+                mask |= 1 << this.dawg.getLetterIndex(edge);
+            }
+        }
+        this.masks[direction][row][col] = mask;
+        this.scores[direction][row][col] = score;
+    }
+
+    /**
+     * Takes in an edge of the Dawg, the first square after it and the
+     * direction to walk in, and returns true if following the edge and then
+     * the letters of the tiles from that square onward ends on a valid word.
+     */
+    private boolean spellsWordAfter(BoardGrid board, int edge, int row, int col, int dRow, int dCol) {
+        while (board.isOccupied(row, col)) {
+            edge = this.dawg.findEdge(this.dawg.getChildNode(edge), Dawg.toLetterIndex(board.getLetter(row, col)));
+            if (edge == Dawg.NO_EDGE) {
+                return false;
+            }
+            row += dRow;
+            col += dCol;
+        }
+        return this.dawg.isEndOfWord(edge);
+    }
+
+    /**
+     * Returns the points of the tile on a square, which is zero for blanks.
+     */
+    private int getTileValue(BoardGrid board, int row, int col) {
+        return board.isBlank(row, col) ? 0 : LetterValues.getPointValue(board.getLetter(row, col));
+    }
+}
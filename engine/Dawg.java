@@ -0,0 +1,259 @@
+package indy.engine;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This class is a Lexicon stored as a minimized directed acyclic word graph,
+ * where words sharing a prefix or a suffix share the nodes spelling it out.
+ * Besides checking whether a word is valid, it can check whether any valid
+ * word starts with a prefix and lets the edges leaving a node be iterated,
+ * which is what move generation walks through.
+ *
+ * The whole graph is one buffer of ints, either on the heap or mapped
+ * straight from a compiled LexiconFile. A node is a consecutive run of edges, and
+ * a node is referred to by the index of its first edge. Every edge packs
+ * the index of its letter, whether a word ends after following it, whether it
+ * is the last edge of its node, and the node it leads to, which is NO_NODE
+ * if that node has no edges.
+ */
+public class Dawg implements Lexicon {
+    public static final int ALPHABET_SIZE = LetterValues.ALPHABET_SIZE;
+    // a GADDAG also labels edges with a separator, which sorts after Z
+    public static final char SEPARATOR = '[';
+    public static final int SEPARATOR_INDEX = ALPHABET_SIZE;
+    public static final int NO_NODE = 0;
+    public static final int ROOT_NODE = 1;
+    public static final int NO_EDGE = -1;
+
+    private static final int LETTER_MASK = 0x1F;
+    private static final int END_OF_WORD = 1 << 5;
+    private static final int LAST_EDGE = 1 << 6;
+    private static final int CHILD_SHIFT = 7;
+
+    private IntBuffer edges;
+    private int wordCount;
+
+    /**
+     * The Dawg constructor takes in the buffer of encoded edges and the
+     * number of words the graph spells out. Dawgs are made by a DawgBuilder
+     * or read from a LexiconFile.
+     */
+    Dawg(IntBuffer edges, int wordCount) {
+        this.edges = edges;
+        this.wordCount = wordCount;
+    }
+
+    /**
+     * Takes in the path of a file containing one valid word per line, in
+     * alphabetical order, and returns a Dawg holding all of them.
+     */
+    public static Dawg load(String filePath) throws IOException {
+        return load(filePath, progress -> { });
+    }
+
+    /**
+     * Takes in the path of a file containing one valid word per line, in
+     * alphabetical order, and a DoubleConsumer that is told the fraction of
+     * the file read so far, from 0 to 1, as the words are added. Returns a
+     * Dawg holding all of the words.
+     */
+    public static Dawg load(String filePath, DoubleConsumer progress) throws IOException {
+        File file = new File(filePath);
+        long fileLength = Math.max(file.length(), 1);
+        long charsRead = 0;
+        int nextReport = 0;
+
+        DawgBuilder builder = new DawgBuilder();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line = reader.readLine();
+            while (line != null) {
+                String word = line.trim();
+                if (!word.isEmpty()) {
+                    builder.add(word);
+                }
+
+                // only report every percent so the listener is not flooded
+                charsRead += line.length() + 1;
+                int percent = (int) (charsRead * 100 / fileLength);
+                if (percent >= nextReport) {
+                    progress.accept(Math.min(percent, 100) / 100.0);
+                    nextReport = percent + 1;
+                }
+                line = reader.readLine();
+            }
+        }
+        Dawg dawg = builder.build();
+        progress.accept(1.0);
+        return dawg;
+    }
+
+    /**
+     * Takes in the index of a letter, the node an edge leads to, whether a
+     * word ends after following the edge, and whether it is the last edge of
+     * its node, and returns the edge packed into an int.
+     */
+    static int encodeEdge(int letter, boolean endOfWord, boolean lastEdge, int child) {
+        int edge = letter | (child << CHILD_SHIFT);
+        if (endOfWord) {
+            edge |= END_OF_WORD;
+        }
+        if (lastEdge) {
+            edge |= LAST_EDGE;
+        }
+        return edge;
+    }
+
+    /**
+     * Takes in an uppercase letter and returns its index from 0 to 25, or
+     * -1 if it is not a letter. The separator used by a Gaddag has the index
+     * SEPARATOR_INDEX.
+     */
+    public static int toLetterIndex(char letter) {
+        if (letter == SEPARATOR) {
+            return SEPARATOR_INDEX;
+        }
+        if (!LetterValues.isLetter(letter)) {
+            return -1;
+        }
+        return letter - 'A';
+    }
+
+    /**
+     * Returns true if the word is spelled out by the graph.
+     */
+    @Override
+    public boolean contains(CharSequence word) {
+        int edge = this.walk(word);
+        return edge != NO_EDGE && this.isEndOfWord(edge);
+    }
+
+    /**
+     * Returns true if at least one valid word starts with the prefix.
+     * Every valid word is a prefix of itself.
+     */
+    public boolean hasPrefix(CharSequence prefix) {
+        return prefix.length() == 0 ? this.getRootNode() != NO_NODE : this.walk(prefix) != NO_EDGE;
+    }
+
+    /**
+     * Follows the edges spelling out the characters from the root and
+     * returns the last edge followed, or NO_EDGE if the graph has no such path.
+     */
+    private int walk(CharSequence letters) {
+        if (letters.length() == 0) {
+            return NO_EDGE;
+        }
+
+        int node = this.getRootNode();
+        int edge = NO_EDGE;
+        for (int i = 0; i < letters.length(); i++) {
+            int letter = toLetterIndex(letters.charAt(i));
+            if (node == NO_NODE || letter == -1) {
+                return NO_EDGE;
+            }
+            edge = this.findEdge(node, letter);
+            if (edge == NO_EDGE) {
+                return NO_EDGE;
+            }
+            node = this.getChildNode(edge);
+        }
+        return edge;
+    }
+
+    /**
+     * Returns the node that every word starts from, or NO_NODE if the graph
+     * holds no words.
+     */
+    public int getRootNode() {
+        return this.edges.limit() > ROOT_NODE ? ROOT_NODE : NO_NODE;
+    }
+
+    /**
+     * Takes in a node and the index of a letter and returns the edge of that
+     * node labeled with the letter, or NO_EDGE if there is none.
+     */
+    public int findEdge(int node, int letter) {
+        for (int edge = this.getFirstEdge(node); edge != NO_EDGE; edge = this.getNextEdge(edge)) {
+            int edgeLetter = this.getLetterIndex(edge);
+            if (edgeLetter == letter) {
+                return edge;
+            }
+            // edges are sorted by letter, so stop once we've gone past it
+            if (edgeLetter > letter) {
+                return NO_EDGE;
+            }
+        }
+        return NO_EDGE;
+    }
+
+    /**
+     * Takes in a node and returns its first edge, or NO_EDGE if it has none.
+     */
+    public int getFirstEdge(int node) {
+        return node == NO_NODE ? NO_EDGE : node;
+    }
+
+    /**
+     * Takes in an edge and returns the next edge of the same node, or
+     * NO_EDGE if it was the last one.
+     */
+    public int getNextEdge(int edge) {
+        return (this.edges.get(edge) & LAST_EDGE) != 0 ? NO_EDGE : edge + 1;
+    }
+
+    /**
+     * Returns the index of the letter an edge is labeled with.
+     */
+    public int getLetterIndex(int edge) {
+        return this.edges.get(edge) & LETTER_MASK;
+    }
+
+    /**
+     * Returns the uppercase letter an edge is labeled with.
+     */
+    public char getLetter(int edge) {
+        return (char) ('A' + this.getLetterIndex(edge));
+    }
+
+    /**
+     * Returns true if a valid word ends after following the edge.
+     */
+    public boolean isEndOfWord(int edge) {
+        return (this.edges.get(edge) & END_OF_WORD) != 0;
+    }
+
+    /**
+     * Returns the node an edge leads to, or NO_NODE if no word continues
+     * past it.
+     */
+    public int getChildNode(int edge) {
+        return this.edges.get(edge) >>> CHILD_SHIFT;
+    }
+
+    /**
+     * Returns the number of words the graph holds.
+     */
+    public int size() {
+        return this.wordCount;
+    }
+
+    /**
+     * Returns the number of edges in the graph.
+     */
+    public int getEdgeCount() {
+        return Math.max(this.edges.limit() - ROOT_NODE, 0);
+    }
+
+    /**
+     * Returns the buffer of encoded edges, so that it can be written out
+     * by a LexiconFile.
+     */
+    IntBuffer getEdges() {
+        return this.edges.duplicate();
+    }
+}
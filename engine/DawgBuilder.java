@@ -0,0 +1,234 @@
+package indy.engine;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * This class builds a minimized Dawg from words added in sorted order. Each
+ * word is added to a trie, and as soon as a branch of the trie can no longer
+ * change, meaning the next word no longer shares it, every node of that branch
+ * is replaced by an equivalent node that was already registered if one exists.
+ * This merges common suffixes as well as common prefixes, so that the finished
+ * graph has the fewest nodes possible.
+ */
+public class DawgBuilder {
+    private Node root;
+    private HashMap<Node, Node> register;
+    // nodes along the most recently added word, path[0] being the root
+    private Node[] path;
+    private String previousWord;
+    private int wordCount;
+
+    /**
+     * The DawgBuilder constructor instantiates an empty root node, the
+     * register of minimized nodes, and the path of the previous word.
+     */
+    public DawgBuilder() {
+        this.root = new Node();
+        this.register = new HashMap<>();
+        this.path = new Node[1];
+        this.path[0] = this.root;
+        this.previousWord = "";
+        this.wordCount = 0;
+    }
+
+    /**
+     * Takes in a word, which must come after every previously added word in
+     * alphabetical order, and adds it to the graph. Each character is
+     * converted to a letter index by the Dawg. Duplicate words are ignored.
+     */
+    public void add(String word) {
+        int compare = word.compareTo(this.previousWord);
+        if (compare == 0) {
+            return;
+        }
+        if (compare < 0) {
+            throw new IllegalArgumentException("Words must be added in sorted order: "
+                    + word + " after " + this.previousWord);
+        }
+
+        int prefixLength = 0;
+        int limit = Math.min(word.length(), this.previousWord.length());
+        while (prefixLength < limit && word.charAt(prefixLength) == this.previousWord.charAt(prefixLength)) {
+            prefixLength++;
+        }
+
+        // the previous word's branch beyond the shared prefix is finished, so minimize it
+        this.minimize(prefixLength);
+
+        if (this.path.length < word.length() + 1) {
+            Node[] longerPath = new Node[word.length() + 1];
+            System.arraycopy(this.path, 0, longerPath, 0, this.path.length);
+            this.path = longerPath;
+        }
+
+        for (int i = prefixLength; i < word.length(); i++) {
+            Node child = new Node();
+            this.path[i].addChild(Dawg.toLetterIndex(word.charAt(i)), child);
+            this.path[i + 1] = child;
+        }
+        this.path[word.length()].terminal = true;
+
+        this.previousWord = word;
+        this.wordCount++;
+    }
+
+    /**
+     * Minimizes the remaining branch of the last word and flattens the graph
+     * into a Dawg. The builder should not be used afterwards.
+     */
+    public Dawg build() {
+        this.minimize(0);
+        return new Dawg(IntBuffer.wrap(this.flatten()), this.wordCount);
+    }
+
+    /**
+     * Takes in a depth along the previous word and, starting from the deepest
+     * node of that word, replaces each node deeper than the given depth with
+     * the registered node equivalent to it, or registers it if it is new.
+     */
+    private void minimize(int depth) {
+        for (int i = this.previousWord.length(); i > depth; i--) {
+            Node node = this.path[i];
+            Node parent = this.path[i - 1];
+            Node registered = this.register.putIfAbsent(node, node);
+            if (registered != null) {
+                parent.replaceLastChild(registered);
+            }
+        }
+    }
+
+    /**
+     * Lays every node with children out in an int array, with each node being
+     * the consecutive run of edges to its children, encoded as described in
+     * the Dawg class. The root node starts at Dawg.ROOT_NODE, and nodes without
+     * children, including an empty root, are not laid out since edges into
+     * them use Dawg.NO_NODE.
+     */
+    private int[] flatten() {
+        ArrayList<Node> order = new ArrayList<>();
+        int nextIndex = Dawg.ROOT_NODE;
+
+        // first assign every node an index, in breadth first order
+        this.root.index = this.root.childCount == 0 ? Dawg.NO_NODE : nextIndex;
+        nextIndex += this.root.childCount;
+        order.add(this.root);
+        for (int i = 0; i < order.size(); i++) {
+            Node node = order.get(i);
+            for (int j = 0; j < node.childCount; j++) {
+                Node child = node.children[j];
+                if (child.index == -1) {
+                    if (child.childCount == 0) {
+                        child.index = Dawg.NO_NODE;
+                    }
+                    else {
+                        child.index = nextIndex;
+                        nextIndex += child.childCount;
+                        order.add(child);
+                    }
+                }
+            }
+        }
+
+        // then write out the edges of every node
+        int[] edges = new int[nextIndex];
+        for (Node node : order) {
+            for (int j = 0; j < node.childCount; j++) {
+                Node child = node.children[j];
+                edges[node.index + j] = Dawg.encodeEdge(node.letters[j], child.terminal,
+                        j == node.childCount - 1, child.index);
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * This class models a node of the trie being built. Its edges to its
+     * children are kept in the order they were added, which is alphabetical
+     * since words are added in sorted order.
+     */
+    private static class Node {
+        private int[] letters;
+        private Node[] children;
+        private int childCount;
+        private boolean terminal;
+        private int index;
+
+        /**
+         * The Node constructor instantiates a node with no children.
+         */
+        Node() {
+            this.letters = new int[2];
+            this.children = new Node[2];
+            this.childCount = 0;
+            this.terminal = false;
+            this.index = -1;
+        }
+
+        /**
+         * Takes in a letter index and a Node and adds an edge to it.
+         */
+        void addChild(int letter, Node child) {
+            if (this.childCount == this.children.length) {
+                int capacity = Math.min(this.children.length * 2, Dawg.ALPHABET_SIZE + 1);
+                int[] newLetters = new int[capacity];
+                Node[] newChildren = new Node[capacity];
+                System.arraycopy(this.letters, 0, newLetters, 0, this.childCount);
+                System.arraycopy(this.children, 0, newChildren, 0, this.childCount);
+                this.letters = newLetters;
+                this.children = newChildren;
+            }
+            this.letters[this.childCount] = letter;
+            this.children[this.childCount] = child;
+            this.childCount++;
+        }
+
+        /**
+         * Takes in a Node and makes it the target of the most recently
+         * added edge.
+         */
+        void replaceLastChild(Node child) {
+            this.children[this.childCount - 1] = child;
+        }
+
+        /**
+         * Two nodes are equivalent if they are both terminal or both not,
+         * and have edges with the same letters to the very same children.
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || this.getClass() != o.getClass()) {
+                return false;
+            }
+
+            Node node = (Node) o;
+            if (this.terminal != node.terminal || this.childCount != node.childCount) {
+                return false;
+            }
+            for (int i = 0; i < this.childCount; i++) {
+                if (this.letters[i] != node.letters[i] || this.children[i] != node.children[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Computes a hash code from the same properties that equals compares,
+         * using the identity of the children.
+         */
+        @Override
+        public int hashCode() {
+            int hash = this.terminal ? 1 : 0;
+            for (int i = 0; i < this.childCount; i++) {
+                hash = 31 * hash + this.letters[i];
+                hash = 31 * hash + System.identityHashCode(this.children[i]);
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package indy.engine;
+
+import java.util.List;
+
+/**
+ * This class holds what an EndgameSolver found: the best sequence of turns it
+ * knows of, starting with the move to make now, and the spread that sequence
+ * leads to for the player to move, counting only points scored from now on. A
+ * pass is given as a Move with no tiles. If the search ran out of time before
+ * it could look all the way to the end of the game, the solution is the best
+ * found at the deepest search it finished and is not exact.
+ */
+public class EndgameSolution {
+    private List<Move> moves;
+    private int spread;
+    private boolean exact;
+    private int depth;
+    private long nodes;
+    private long nanos;
+
+    /**
+     * The EndgameSolution constructor takes in the sequence of turns, the
+     * spread it leads to, whether that is exact, the depth in plies of the
+     * deepest finished search, and how many positions were searched in how
+     * many nanoseconds.
+     */
+    EndgameSolution(List<Move> moves, int spread, boolean exact, int depth, long nodes, long nanos) {
+        this.moves = moves;
+        this.spread = spread;
+        this.exact = exact;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Returns the move to make now, which has no tiles if passing is best.
+     */
+    public Move getBestMove() {
+        return this.moves.get(0);
+    }
+
+    /**
+     * Returns the best sequence of turns found, alternating between the
+     * player to move and their opponent.
+     */
+    public List<Move> getMoves() {
+        return this.moves;
+    }
+
+    /**
+     * Returns the points the player to move scores from now on minus the
+     * points their opponent scores, if both play the sequence.
+     */
+    public int getSpread() {
+        return this.spread;
+    }
+
+    /**
+     * Returns true if the search reached the end of the game along every
+     * line, so that the spread is the best that can be forced.
+     */
+    public boolean isExact() {
+        return this.exact;
+    }
+
+    /**
+     * Returns the depth in plies of the deepest search that finished.
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Returns the number of positions searched.
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Returns the number of nanoseconds the search took.
+     */
+    public long getNanos() {
+        return this.nanos;
+    }
+
+    /**
+     * Returns the solution as a single line of text.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(this.exact ? "exact " : "depth " + this.depth + " ").append(this.spread).append(':');
+        for (Move move : this.moves) {
+            builder.append(" [").append(move.size() == 0 ? "pass" : move + " " + move.getScore()).append(']');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,954 @@
+package indy.engine;
+
+import indy.Constants;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * This class solves the end of a game, once the tile bag is empty and both
+ * players can work out exactly which tiles the other holds. It searches every
+ * sequence of moves with negamax alpha-beta search, where the value of a
+ * position is the spread the player to move can force from then on, and the
+ * game ends when a player plays out their rack or both players pass in a row,
+ * as nothing can change after that.
+ *
+ * The search deepens one ply at a time until it reaches the end of the game
+ * along every line or runs out of time. A position at the depth limit is
+ * valued as the best score the player to move can make minus the best score
+ * their opponent can make, or the best score that plays out their rack if
+ * that is more. After the first move of a position, every other move is
+ * searched with a window just above the best value so far, and only searched
+ * again with the full window if it beats it. Positions are hashed with
+ * Zobrist keys and their values stored in a TranspositionTable shared by
+ * every thread, which also remembers the best move of each position so it is
+ * searched first next time. At the root, the move that was best at the
+ * previous depth is searched first, and then the rest are searched in
+ * parallel across the common ForkJoinPool, each thread on its own copy of the
+ * board, against the best value found so far.
+ *
+ * The racks only ever lose tiles, so every move of both players is generated
+ * once, at the root, and kept in a PlayerMoves. A move made there stays legal
+ * with the same score for as long as its player still holds its tiles and no
+ * tile has been placed on its footprint, so the moves of a position are the
+ * ones of the root that pass both tests, plus the new moves that form a word
+ * with a tile placed since, which are only generated from the anchors such a
+ * move could start from. The new moves are generated last, once the stored
+ * best move and the moves of the root have failed to cut the position off,
+ * and not at all just above the depth limit. A solver solves one endgame at
+ * a time.
+ *
+ * The solution is only exact when the search reaches the end of the game
+ * along every line before the time runs out, and otherwise it is the best
+ * line of the deepest search that finished. Short endgames are solved
+ * exactly well within a second, but two full racks of seven tiles, and
+ * above all racks holding a blank, can take many seconds or more, so
+ * within a second the solver only finds the spread-maximizing sequence of
+ * some of them. A blank is not folded into the letters it could stand for,
+ * as two of its moves only lead to the same positions when every word that
+ * can still be built across it accepts both letters.
+ */
+public class EndgameSolver {
+    // every play places a tile and two passes in a row end the game, so no endgame lasts longer
+    private static final int MAX_DEPTH = 4 * Constants.STARTING_PLAYER_TILES + 1;
+    // stored as the depth of positions searched to the end of the game along every line
+    private static final int SOLVED_DEPTH = 255;
+    private static final int INFINITY = Short.MAX_VALUE;
+    private static final int PASS_FINGERPRINT = 0;
+
+    private Dawg dawg;
+    private TranspositionTable table;
+
+    /**
+     * The EndgameSolver constructor takes in the Dawg of valid words and the
+     * base 2 logarithm of the number of slots of its transposition table.
+     */
+    public EndgameSolver(Dawg dawg, int tableBits) {
+        this.dawg = dawg;
+        this.table = new TranspositionTable(tableBits);
+    }
+
+    /**
+     * Takes in a GameState whose tile bag is empty and the most time to spend,
+     * in milliseconds, and returns the best sequence of turns for the current
+     * player. Throws an IllegalArgumentException if the bag is not empty.
+     */
+    public EndgameSolution solve(GameState game, long timeLimitMillis) {
+        if (!game.getTileBag().isEmpty()) {
+            throw new IllegalArgumentException("The tile bag still holds " + game.getTileBag().size() + " tiles");
+        }
+        int player = game.getCurrentPlayer();
+        return this.solve(game.getBoard(), game.getCrossChecks(), game.getRack(player), game.getRack(1 - player),
+                timeLimitMillis);
+    }
+
+    /**
+     * Takes in a BoardGrid and CrossChecks in sync with it, the rack of the
+     * player to move and of their opponent, and the most time to spend, in
+     * milliseconds, and returns the best sequence of turns for the player to
+     * move. None of them are changed.
+     */
+    public EndgameSolution solve(BoardGrid board, CrossChecks checks, Rack toMove, Rack opponent,
+                                 long timeLimitMillis) {
+        long start = System.nanoTime();
+        long deadline = start + timeLimitMillis * 1_000_000;
+        this.table.clear();
+        MoveGenerator generator = new MoveGenerator(this.dawg);
+        PlayerMoves[] playerMoves = {new PlayerMoves(generator, board, checks, toMove),
+                new PlayerMoves(generator, board, checks, opponent)};
+        ThreadLocal<Search> searches = ThreadLocal.withInitial(
+                () -> new Search(board, checks, toMove, opponent, playerMoves, deadline));
+        LongAdder nodes = new LongAdder();
+
+        Search main = searches.get();
+        List<Move> rootMoves = new ArrayList<>(main.generateMoves(0, PASS_FINGERPRINT, 0));
+        int[] values = new int[rootMoves.size()];
+        int bestIndex = 0;
+        int bestValue = rootMoves.get(0).getScore();
+        int depth = 0;
+        boolean exact = false;
+
+        while (!exact && depth < MAX_DEPTH) {
+            int[] iterationValues = new int[rootMoves.size()];
+            AtomicBoolean cut = new AtomicBoolean(false);
+            try {
+                // the first move is searched alone with a full window, to give the rest a bound to beat
+                main.cut = false;
+                iterationValues[0] = main.searchRoot(rootMoves.get(0), depth + 1, -INFINITY, INFINITY);
+                nodes.add(main.takeNodes());
+                AtomicInteger alpha = new AtomicInteger(iterationValues[0]);
+                if (main.cut) {
+                    cut.set(true);
+                }
+                int searchDepth = depth + 1;
+                IntStream.range(1, rootMoves.size()).parallel().forEach(i -> {
+                    Search search = searches.get();
+                    search.cut = false;
+                    int bound = alpha.get();
+                    int value = search.searchRoot(rootMoves.get(i), searchDepth, bound, bound + 1);
+                    if (value > bound) {
+                        value = search.searchRoot(rootMoves.get(i), searchDepth, bound, INFINITY);
+                    }
+                    // a value that does not beat the bound is only an upper bound
+                    iterationValues[i] = value > bound ? value : -INFINITY;
+                    alpha.accumulateAndGet(value, Math::max);
+                    nodes.add(search.takeNodes());
+                    if (search.cut) {
+                        cut.set(true);
+                    }
+                });
+            }
+
+            catch (TimeUp e) {
+                break;
+            }
+
+            depth++;
+            exact = !cut.get();
+            System.arraycopy(iterationValues, 0, values, 0, values.length);
+            bestIndex = 0;
+            for (int i = 1; i < values.length; i++) {
+                if (values[i] > values[bestIndex]) {
+                    bestIndex = i;
+                }
+            }
+            bestValue = values[bestIndex];
+
+            // search the best move first at the next depth
+            Move best = rootMoves.remove(bestIndex);
+            rootMoves.add(0, best);
+            int value = values[bestIndex];
+            System.arraycopy(values, 0, values, 1, bestIndex);
+            values[0] = value;
+            bestIndex = 0;
+        }
+
+        List<Move> sequence = main.principalVariation(rootMoves.get(bestIndex), depth);
+        return new EndgameSolution(sequence, bestValue, exact, depth, nodes.sum(), System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the fingerprint of a move kept in the transposition table, which
+     * is PASS_FINGERPRINT for a pass.
+     */
+    private static int getFingerprint(Move move) {
+        if (move.size() == 0) {
+            return PASS_FINGERPRINT;
+        }
+        int fingerprint = (int) Zobrist.getMoveKey(move);
+        return fingerprint == PASS_FINGERPRINT ? 1 : fingerprint;
+    }
+
+    /**
+     * Takes in a move and the row and col of a square, and returns true if
+     * the move places a tile on it.
+     */
+    private static boolean isPlacedBy(Move move, int row, int col) {
+        for (int i = 0; i < move.size(); i++) {
+            if (move.getRow(i) == row && move.getCol(i) == col) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This class holds every move one player can make with their whole rack
+     * on the board at the root of a solve, from the highest scoring down.
+     * Each move is kept with its fingerprint, the tiles of the rack it uses
+     * as a mask with one bit per tile, and its footprint: every square of the
+     * words it forms and the square just past each end of them. Tiles placed
+     * anywhere else cannot change the words the move forms, so as long as
+     * none lands on its footprint the move stays legal with the same score.
+     */
+    private static class PlayerMoves {
+        private Move[] moves;
+        private int[] tileMasks;
+        private int[] fingerprints;
+        private Bitboard[] footprints;
+        // indexed by tile mask, the indices of the moves that use exactly those tiles
+        private int[][] movesByMask;
+        // indexed by kind, the lowest bit of the tiles of that kind in a tile mask
+        private int[] kindShifts;
+
+        /**
+         * The PlayerMoves constructor takes in a MoveGenerator, the board at
+         * the root and CrossChecks in sync with it, and the player's rack,
+         * and generates every move of the rack.
+         */
+        PlayerMoves(MoveGenerator generator, BoardGrid board, CrossChecks checks, Rack rack) {
+            this.kindShifts = new int[TileKind.KIND_COUNT];
+            int shift = 0;
+            for (int kind = 0; kind < TileKind.KIND_COUNT; kind++) {
+                this.kindShifts[kind] = shift;
+                shift += rack.getCount(kind);
+            }
+
+            List<Move> generated = generator.generate(board, checks, rack);
+            generated.sort((a, b) -> Integer.compare(b.getScore(), a.getScore()));
+            this.moves = generated.toArray(new Move[0]);
+            this.tileMasks = new int[this.moves.length];
+            this.fingerprints = new int[this.moves.length];
+            this.footprints = new Bitboard[this.moves.length];
+            Rack used = new Rack();
+            for (int i = 0; i < this.moves.length; i++) {
+                Move move = this.moves[i];
+                used.removeAll(used);
+                for (int j = 0; j < move.size(); j++) {
+                    used.add(move.isBlank(j) ? LetterValues.BLANK : move.getLetter(j));
+                }
+                this.tileMasks[i] = this.getMask(used);
+                this.fingerprints[i] = getFingerprint(move);
+                this.footprints[i] = getFootprint(board, move);
+            }
+
+            int[] counts = new int[1 << shift];
+            for (int mask : this.tileMasks) {
+                counts[mask]++;
+            }
+            this.movesByMask = new int[counts.length][];
+            for (int mask = 0; mask < counts.length; mask++) {
+                this.movesByMask[mask] = new int[counts[mask]];
+                counts[mask] = 0;
+            }
+            for (int i = 0; i < this.moves.length; i++) {
+                this.movesByMask[this.tileMasks[i]][counts[this.tileMasks[i]]++] = i;
+            }
+        }
+
+        /**
+         * Takes in a Rack holding some of the tiles of the root rack and
+         * returns their mask, in which the tiles of each kind held take up
+         * the lowest of the bits of that kind.
+         */
+        int getMask(Rack rack) {
+            int mask = 0;
+            for (int kind = 0; kind < TileKind.KIND_COUNT; kind++) {
+                mask |= ((1 << rack.getCount(kind)) - 1) << this.kindShifts[kind];
+            }
+            return mask;
+        }
+
+        /**
+         * Helper method that takes in the board at the root and a move that
+         * can be made on it, and returns the footprint of the move.
+         */
+        private static Bitboard getFootprint(BoardGrid board, Move move) {
+            Bitboard footprint = new Bitboard();
+            for (int i = 0; i < move.size(); i++) {
+                addRun(board, move, move.getRow(i), move.getCol(i), 0, 1, footprint);
+                addRun(board, move, move.getRow(i), move.getCol(i), 1, 0, footprint);
+            }
+            return footprint;
+        }
+
+        /**
+         * Helper method that takes in the board, a move, the square of one of
+         * its tiles and a direction, and adds the squares holding a tile in a
+         * row with it in that direction, with the move made, to the footprint,
+         * along with the square just past each end of them.
+         */
+        private static void addRun(BoardGrid board, Move move, int row, int col, int dRow, int dCol,
+                                   Bitboard footprint) {
+            for (int sign = -1; sign <= 1; sign += 2) {
+                int r = row;
+                int c = col;
+                while (BoardGrid.isOnBoard(r, c) && (board.isOccupied(r, c) || isPlacedBy(move, r, c))) {
+                    footprint.set(Bitboard.index(r, c));
+                    r += sign * dRow;
+                    c += sign * dCol;
+                }
+                if (BoardGrid.isOnBoard(r, c)) {
+                    footprint.set(Bitboard.index(r, c));
+                }
+            }
+        }
+    }
+
+    /**
+     * This class is the state of the search on one thread: its own copy of
+     * the board, cross-checks and both racks, which moves are made on and
+     * taken back off as the search goes, the board keeping its own hash and
+     * the cross-checks only brought up to date when moves are generated.
+     * Player 0 is the player to move at the root.
+     */
+    private class Search {
+        private BoardGrid board;
+        private CrossChecks checks;
+        private MoveGenerator generator;
+        private Rack[] racks;
+        private PlayerMoves[] playerMoves;
+        // indexed by player, the mask of the tiles still on their rack
+        private int[] rackMasks;
+        // the squares of the tiles placed since the root, as a set and in the order they were placed
+        private Bitboard placed;
+        private int[] placedSquares;
+        private int placedCount;
+        // the tiles placed since the root that the cross-checks were last brought in sync with
+        private Bitboard synced;
+        private int[] syncedSquares;
+        private int syncedCount;
+        // indexed by line, the anchors new moves are generated from, across and then down
+        private int[] rowAnchors;
+        private int[] colAnchors;
+        // indexed by ply, the list the moves of the position at that ply are put in
+        private List<List<Move>> plyMoves;
+        private Move pass;
+        private long deadline;
+        private long nodes;
+        // set when a position was valued without searching to the end of the game
+        private boolean cut;
+
+        /**
+         * The Search constructor takes in the root position, the moves of
+         * both players at the root and the time the search has to stop at,
+         * and copies the position.
+         */
+        Search(BoardGrid board, CrossChecks checks, Rack toMove, Rack opponent, PlayerMoves[] playerMoves,
+               long deadline) {
+            this.board = new BoardGrid(board);
+            this.checks = new CrossChecks(checks);
+            this.generator = new MoveGenerator(EndgameSolver.this.dawg);
+            this.racks = new Rack[] {new Rack(toMove), new Rack(opponent)};
+            this.playerMoves = playerMoves;
+            this.rackMasks = new int[] {playerMoves[0].getMask(toMove), playerMoves[1].getMask(opponent)};
+            this.placed = new Bitboard();
+            this.placedSquares = new int[2 * Constants.STARTING_PLAYER_TILES];
+            this.synced = new Bitboard();
+            this.syncedSquares = new int[2 * Constants.STARTING_PLAYER_TILES];
+            this.rowAnchors = new int[Constants.BOARD_ROW];
+            this.colAnchors = new int[Constants.BOARD_COL];
+            this.plyMoves = new ArrayList<>();
+            for (int ply = 0; ply <= MAX_DEPTH; ply++) {
+                this.plyMoves.add(new ArrayList<>());
+            }
+            this.pass = new Move();
+            this.deadline = deadline;
+        }
+
+        /**
+         * Takes in a move of the player to move at the root, the depth to
+         * search to and the window of values of interest, and returns the
+         * spread that move leads to for them.
+         */
+        int searchRoot(Move move, int depth, int alpha, int beta) {
+            return this.searchMove(move, depth, alpha, beta, 0, false, 0, true);
+        }
+
+        /**
+         * Takes in the number of plies left to search, the window of values
+         * of interest, the player to move, whether the last turn was a pass
+         * and how many plies from the root the position is, and returns the
+         * spread the player to move can force. A value at or below alpha is
+         * only an upper bound, and one at or above beta only a lower bound.
+         */
+        int negamax(int depth, int alpha, int beta, int player, boolean passed, int ply) {
+            // generating the moves of a node costs far more than reading the clock
+            this.nodes++;
+            if (System.nanoTime() > this.deadline) {
+                throw new TimeUp();
+            }
+
+            long hash = this.getPositionHash(player, passed);
+            long entry = EndgameSolver.this.table.probe(hash);
+            int hint = PASS_FINGERPRINT;
+            if (entry != TranspositionTable.NO_ENTRY) {
+                hint = TranspositionTable.getMove(entry);
+                int entryDepth = TranspositionTable.getDepth(entry);
+                if (entryDepth >= depth) {
+                    int value = TranspositionTable.getValue(entry);
+                    int bound = TranspositionTable.getBound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER_BOUND && value >= beta)
+                            || (bound == TranspositionTable.UPPER_BOUND && value <= alpha)) {
+                        this.cut |= entryDepth != SOLVED_DEPTH;
+                        return value;
+                    }
+                }
+            }
+            if (depth == 0) {
+                this.cut = true;
+                return this.evaluate(player);
+            }
+
+            boolean outerCut = this.cut;
+            // set when a move was valued without searching to the end of the game, or not searched at all
+            boolean cut = false;
+            int originalAlpha = alpha;
+            int best = -INFINITY;
+            int bestMove = PASS_FINGERPRINT;
+            // the stored best move often cuts the node off by itself, and then the moves of the root often do,
+            // so the new moves are only generated once both have been searched
+            Move hintMove = hint == PASS_FINGERPRINT ? null : this.findRootMove(player, hint);
+            boolean generated = hint != PASS_FINGERPRINT && hintMove == null && depth > 1;
+            List<Move> moves;
+            if (generated) {
+                moves = this.generateMoves(player, hint, ply);
+            }
+
+            else {
+                moves = this.plyMoves.get(ply);
+                moves.clear();
+                if (hintMove != null) {
+                    moves.add(hintMove);
+                }
+                this.addRootMoves(player, moves);
+                this.putOutsFirst(player, moves, hintMove == null ? 0 : 1);
+            }
+            for (int i = 0; alpha < beta; i++) {
+                if (i == moves.size()) {
+                    if (generated) {
+                        break;
+                    }
+                    generated = true;
+                    // just above the depth limit, where every reply is only estimated, the new moves are skipped
+                    if (depth > 1) {
+                        this.addNewMoves(player, moves);
+                        this.putOutsFirst(player, moves, i);
+                    }
+
+                    else {
+                        cut = true;
+                    }
+                    moves.add(this.pass);
+                }
+                Move move = moves.get(i);
+                if (move == hintMove && i > 0) {
+                    continue;
+                }
+                this.cut = false;
+                int value = this.searchMove(move, depth, alpha, beta, player, passed, ply, i == 0);
+                if (value > best) {
+                    best = value;
+                    bestMove = getFingerprint(move);
+                }
+                if (best > alpha) {
+                    alpha = best;
+                }
+                // a move that cuts the position off proves its bound by itself, whatever came before it
+                if (alpha >= beta) {
+                    cut = this.cut;
+                }
+
+                else {
+                    cut |= this.cut;
+                }
+            }
+            this.cut = cut;
+
+            int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                    : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+            EndgameSolver.this.table.store(hash, best, this.cut ? depth : SOLVED_DEPTH, bound, bestMove);
+            this.cut |= outerCut;
+            return best;
+        }
+
+        /**
+         * Helper method that takes in a move of the player to move, the
+         * number of plies left to search from the position it is made in,
+         * the window of values of interest, the player, whether the last turn
+         * was a pass, the ply of the position and whether the move is the
+         * first searched there, and returns the spread it leads to for them.
+         * Every move after the first is searched with a window just above
+         * alpha, which only tells whether it beats it, and then again with
+         * the full window if it does.
+         */
+        private int searchMove(Move move, int depth, int alpha, int beta, int player, boolean passed, int ply,
+                               boolean first) {
+            if (move.size() == 0) {
+                // two passes in a row end the game, since nothing can change after them
+                if (passed) {
+                    return 0;
+                }
+                if (first) {
+                    return -this.negamax(depth - 1, -beta, -alpha, 1 - player, true, ply + 1);
+                }
+                int value = -this.negamax(depth - 1, -alpha - 1, -alpha, 1 - player, true, ply + 1);
+                if (value > alpha && value < beta) {
+                    value = -this.negamax(depth - 1, -beta, -alpha, 1 - player, true, ply + 1);
+                }
+                return value;
+            }
+
+            int score = move.getScore();
+            if (move.size() == this.racks[player].size()) {
+                return score;
+            }
+            if (depth == 1) {
+                return score - this.evaluateAfter(move, player);
+            }
+            this.makeMove(move, player);
+            try {
+                if (first) {
+                    return score - this.negamax(depth - 1, score - beta, score - alpha, 1 - player, false, ply + 1);
+                }
+                int value = score - this.negamax(depth - 1, score - alpha - 1, score - alpha, 1 - player, false,
+                        ply + 1);
+                if (value > alpha && value < beta) {
+                    value = score - this.negamax(depth - 1, score - beta, score - alpha, 1 - player, false, ply + 1);
+                }
+                return value;
+            }
+
+            finally {
+                this.takeBackMove(move, player);
+            }
+        }
+
+        /**
+         * Helper method that takes in a move and the player making it, and
+         * returns the estimate of the spread their opponent can force after
+         * it. Only the tiles the move places and takes off the rack are
+         * tracked, not the board, since the estimate never looks at it.
+         */
+        private int evaluateAfter(Move move, int player) {
+            this.nodes++;
+            this.cut = true;
+            int rackMask = this.rackMasks[player];
+            this.racks[player].removeMove(move);
+            this.rackMasks[player] = this.playerMoves[player].getMask(this.racks[player]);
+            for (int i = 0; i < move.size(); i++) {
+                this.placed.set(Bitboard.index(move.getRow(i), move.getCol(i)));
+            }
+            int value = this.evaluate(1 - player);
+            for (int i = 0; i < move.size(); i++) {
+                this.racks[player].add(move.isBlank(i) ? LetterValues.BLANK : move.getLetter(i));
+                this.placed.clear(Bitboard.index(move.getRow(i), move.getCol(i)));
+            }
+            this.rackMasks[player] = rackMask;
+            return value;
+        }
+
+        /**
+         * Helper method that takes in a player and the fingerprint of a move,
+         * and returns the move of the root with that fingerprint if they can
+         * still make it, or null if they cannot.
+         */
+        private Move findRootMove(int player, int fingerprint) {
+            PlayerMoves moves = this.playerMoves[player];
+            int rackMask = this.rackMasks[player];
+            for (int i = 0; i < moves.moves.length; i++) {
+                if (moves.fingerprints[i] == fingerprint && (moves.tileMasks[i] & ~rackMask) == 0
+                        && !moves.footprints[i].intersects(this.placed)) {
+                    return moves.moves[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Helper method that takes in the player to move at the depth limit
+         * and returns an estimate of the spread they can force: the best
+         * score they can make minus the best score their opponent can make
+         * on the board as it is, or the best score they can make playing out
+         * their rack if that is more. Only the moves of the root are looked
+         * at, since generating the new ones would cost more than the rest of
+         * the estimate.
+         */
+        private int evaluate(int player) {
+            int value = this.getBestScore(player, false) - this.getBestScore(1 - player, false);
+            return Math.max(value, this.getBestScore(player, true));
+        }
+
+        /**
+         * Helper method that takes in a player and whether only moves that
+         * play out their rack count, and returns the highest score of such a
+         * move of the root they can still make, or 0 if there is none, or
+         * -INFINITY if none plays out the rack.
+         */
+        private int getBestScore(int player, boolean playsOut) {
+            PlayerMoves moves = this.playerMoves[player];
+            int rackMask = this.rackMasks[player];
+            if (playsOut) {
+                for (int i : moves.movesByMask[rackMask]) {
+                    if (!moves.footprints[i].intersects(this.placed)) {
+                        return moves.moves[i].getScore();
+                    }
+                }
+                return -INFINITY;
+            }
+            for (int i = 0; i < moves.moves.length; i++) {
+                if ((moves.tileMasks[i] & ~rackMask) == 0 && !moves.footprints[i].intersects(this.placed)) {
+                    return moves.moves[i].getScore();
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Takes in a player, the fingerprint of the move to try first and
+         * the ply of the position, and returns every move they can make,
+         * followed by a pass. That move comes first, then the moves that play
+         * out the rack, and then the rest, each from the highest score down.
+         * The list is only valid until moves are generated at the same ply
+         * again.
+         */
+        List<Move> generateMoves(int player, int hint, int ply) {
+            List<Move> moves = this.plyMoves.get(ply);
+            moves.clear();
+            this.addNewMoves(player, moves);
+            this.addRootMoves(player, moves);
+            // both runs are already from the highest score down, which the sort merges
+            moves.sort((a, b) -> Integer.compare(b.getScore(), a.getScore()));
+            this.putOutsFirst(player, moves, 0);
+            moves.add(this.pass);
+            if (hint != PASS_FINGERPRINT) {
+                for (int i = 1; i < moves.size(); i++) {
+                    if (getFingerprint(moves.get(i)) == hint) {
+                        moves.add(0, moves.remove(i));
+                        break;
+                    }
+                }
+            }
+            return moves;
+        }
+
+        /**
+         * Helper method that takes in a player and a list, and adds the
+         * moves of the root they can still make to it, from the highest
+         * score down.
+         */
+        private void addRootMoves(int player, List<Move> moves) {
+            PlayerMoves rootMoves = this.playerMoves[player];
+            int rackMask = this.rackMasks[player];
+            for (int i = 0; i < rootMoves.moves.length; i++) {
+                if ((rootMoves.tileMasks[i] & ~rackMask) == 0 && !rootMoves.footprints[i].intersects(this.placed)) {
+                    moves.add(rootMoves.moves[i]);
+                }
+            }
+        }
+
+        /**
+         * Helper method that takes in a player and a list, and adds the
+         * moves they can make that are not moves of the root to it, from the
+         * highest score down. These are the moves that form a word with a
+         * tile placed since the root.
+         */
+        private void addNewMoves(int player, List<Move> moves) {
+            if (this.placedCount == 0) {
+                return;
+            }
+            int start = moves.size();
+            this.syncCrossChecks();
+            this.findStartAnchors(this.racks[player].size());
+            for (Move move : this.generator.generate(this.board, this.checks, this.racks[player], this.rowAnchors,
+                    this.colAnchors)) {
+                if (this.touchesPlaced(move)) {
+                    moves.add(move);
+                }
+            }
+            moves.subList(start, moves.size()).sort((a, b) -> Integer.compare(b.getScore(), a.getScore()));
+        }
+
+        /**
+         * Helper method that takes in a player, a list of their moves and an
+         * index into it, and moves the ones from that index on that play out
+         * their rack ahead of the rest, keeping the order of each.
+         */
+        private void putOutsFirst(int player, List<Move> moves, int from) {
+            int outs = from;
+            int rackSize = this.racks[player].size();
+            for (int i = from; i < moves.size(); i++) {
+                if (moves.get(i).size() == rackSize) {
+                    moves.add(outs++, moves.remove(i));
+                }
+            }
+        }
+
+        /**
+         * Helper method that takes in the number of tiles on the rack of the
+         * player to move, and works out the anchors to generate their new
+         * moves from. A move can only form a word with a tile placed since
+         * the root by covering one of the empty squares just past the ends of
+         * the runs of tiles through it, across or down, so the anchors kept
+         * are the ones a move covering such a square could start from.
+         */
+        private void findStartAnchors(int rackSize) {
+            Arrays.fill(this.rowAnchors, 0);
+            Arrays.fill(this.colAnchors, 0);
+            for (int i = 0; i < this.placedCount; i++) {
+                int row = this.placedSquares[i] / Constants.BOARD_COL;
+                int col = this.placedSquares[i] % Constants.BOARD_COL;
+                int rowBits = this.board.getRowBits(row);
+                int colBits = this.board.getColBits(col);
+                this.addStartAnchors(row, getRunStart(rowBits, col) - 1, rackSize);
+                this.addStartAnchors(row, getRunEnd(rowBits, col) + 1, rackSize);
+                this.addStartAnchors(getRunStart(colBits, row) - 1, col, rackSize);
+                this.addStartAnchors(getRunEnd(colBits, row) + 1, col, rackSize);
+            }
+        }
+
+        /**
+         * Helper method that takes in an empty square, which may be off the
+         * board, and the number of tiles on the rack, and keeps every anchor
+         * a move covering the square could start from: the ones on or before
+         * it along its row, and along its col, with no more empty squares
+         * from there up to it than there are tiles on the rack.
+         */
+        private void addStartAnchors(int row, int col, int rackSize) {
+            if (!BoardGrid.isOnBoard(row, col)) {
+                return;
+            }
+            this.rowAnchors[row] |= getStartAnchors(this.board.getRowBits(row), col, rackSize);
+            this.colAnchors[col] |= getStartAnchors(this.board.getColBits(col), row, rackSize);
+        }
+
+        /**
+         * Helper method that takes in which squares of a line hold a tile, an
+         * empty position on it and the number of tiles on the rack, and
+         * returns the empty positions on or before it with no more empty
+         * positions from there up to it than there are tiles, as bits.
+         */
+        private int getStartAnchors(int lineBits, int pos, int rackSize) {
+            int starts = 0;
+            int empty = 0;
+            for (int start = pos; start >= 0 && empty < rackSize; start--) {
+                if ((lineBits & (1 << start)) == 0) {
+                    starts |= 1 << start;
+                    empty++;
+                }
+            }
+            return starts;
+        }
+
+        /**
+         * Helper method that takes in which squares of a line hold a tile
+         * and a position holding one, and returns the first position of the
+         * run of tiles through it.
+         */
+        private int getRunStart(int lineBits, int pos) {
+            while (pos > 0 && (lineBits & (1 << (pos - 1))) != 0) {
+                pos--;
+            }
+            return pos;
+        }
+
+        /**
+         * Helper method that takes in which squares of a line hold a tile
+         * and a position holding one, and returns the last position of the
+         * run of tiles through it.
+         */
+        private int getRunEnd(int lineBits, int pos) {
+            while (pos < Constants.BOARD_COL - 1 && (lineBits & (1 << (pos + 1))) != 0) {
+                pos++;
+            }
+            return pos;
+        }
+
+        /**
+         * Helper method that takes in a move that can be made on the board
+         * as it is, and returns true if one of the words it forms runs
+         * through a tile placed since the root, meaning it is not one of the
+         * moves of the root.
+         */
+        private boolean touchesPlaced(Move move) {
+            for (int i = 0; i < move.size(); i++) {
+                for (int sign = -1; sign <= 1; sign += 2) {
+                    if (this.runTouchesPlaced(move, move.getRow(i), move.getCol(i), sign, 0)
+                            || this.runTouchesPlaced(move, move.getRow(i), move.getCol(i), 0, sign)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Helper method that walks from a square of a move in a direction
+         * over the squares that hold a tile, with the move made, and returns
+         * true if one of them holds a tile placed since the root.
+         */
+        private boolean runTouchesPlaced(Move move, int row, int col, int dRow, int dCol) {
+            int r = row + dRow;
+            int c = col + dCol;
+            while (BoardGrid.isOnBoard(r, c) && (this.board.isOccupied(r, c) || isPlacedBy(move, r, c))) {
+                if (this.placed.get(Bitboard.index(r, c))) {
+                    return true;
+                }
+                r += dRow;
+                c += dCol;
+            }
+            return false;
+        }
+
+        /**
+         * Takes in the best move at the root and the depth searched to, and
+         * returns it followed by the best reply stored in the transposition
+         * table for each position after it, for as long as one is stored.
+         */
+        List<Move> principalVariation(Move first, int depth) {
+            List<Move> sequence = new ArrayList<>();
+            sequence.add(first);
+            int player = 0;
+            boolean passed = false;
+            Move move = first;
+            while (sequence.size() < Math.max(depth, 1)) {
+                if (move.size() == 0) {
+                    if (passed) {
+                        break;
+                    }
+                    passed = true;
+                }
+
+                else {
+                    this.makeMove(move, player);
+                    if (this.racks[player].isEmpty()) {
+                        break;
+                    }
+                    passed = false;
+                }
+                player = 1 - player;
+
+                long entry = EndgameSolver.this.table.probe(this.getPositionHash(player, passed));
+                if (entry == TranspositionTable.NO_ENTRY) {
+                    break;
+                }
+                move = this.generateMoves(player, TranspositionTable.getMove(entry), sequence.size()).get(0);
+                sequence.add(move);
+            }
+            return sequence;
+        }
+
+        /**
+         * Returns the number of positions searched since this was last
+         * called.
+         */
+        long takeNodes() {
+            long nodes = this.nodes;
+            this.nodes = 0;
+            return nodes;
+        }
+
+        /**
+         * Helper method that returns the hash of the position, given the
+         * player to move and whether the last turn was a pass.
+         */
+        private long getPositionHash(int player, boolean passed) {
+            long hash = this.board.getHash() ^ Zobrist.getRackKey(0, this.racks[0]) ^ Zobrist.getRackKey(1, this.racks[1]);
+            if (player == 1) {
+                hash ^= Zobrist.SIDE_TO_MOVE;
+            }
+            if (passed) {
+                hash ^= Zobrist.LAST_TURN_PASSED;
+            }
+            return hash;
+        }
+
+        /**
+         * Helper method that brings the cross-checks in sync with the board.
+         * They are only needed to generate moves, which most positions never
+         * get to, so making and taking back a move leaves them be and this
+         * updates them for every tile placed or taken back since. Each update
+         * only reads the board as it is now, so the order does not matter.
+         */
+        private void syncCrossChecks() {
+            for (int i = 0; i < this.syncedCount; i++) {
+                int square = this.syncedSquares[i];
+                if (!this.placed.get(square)) {
+                    this.checks.tileRemoved(this.board, square / Constants.BOARD_COL, square % Constants.BOARD_COL);
+                    this.synced.clear(square);
+                }
+            }
+            for (int i = 0; i < this.placedCount; i++) {
+                int square = this.placedSquares[i];
+                if (!this.synced.get(square)) {
+                    this.checks.tilePlaced(this.board, square / Constants.BOARD_COL, square % Constants.BOARD_COL);
+                    this.synced.set(square);
+                }
+            }
+            System.arraycopy(this.placedSquares, 0, this.syncedSquares, 0, this.placedCount);
+            this.syncedCount = this.placedCount;
+        }
+
+        /**
+         * Helper method that places a move made by a player on the board and
+         * takes its tiles off their rack, leaving the cross-checks out of
+         * sync until syncCrossChecks is called.
+         */
+        private void makeMove(Move move, int player) {
+            this.board.placeMove(move);
+            this.racks[player].removeMove(move);
+            this.rackMasks[player] = this.playerMoves[player].getMask(this.racks[player]);
+            for (int i = 0; i < move.size(); i++) {
+                int square = Bitboard.index(move.getRow(i), move.getCol(i));
+                this.placed.set(square);
+                this.placedSquares[this.placedCount++] = square;
+            }
+        }
+
+        /**
+         * Helper method that takes a move made by a player back off the board
+         * and puts its tiles back on their rack, leaving the cross-checks out
+         * of sync until syncCrossChecks is called.
+         */
+        private void takeBackMove(Move move, int player) {
+            this.board.removeMove(move);
+            for (int i = 0; i < move.size(); i++) {
+                this.racks[player].add(move.isBlank(i) ? LetterValues.BLANK : move.getLetter(i));
+                this.placed.clear(Bitboard.index(move.getRow(i), move.getCol(i)));
+            }
+            this.placedCount -= move.size();
+            this.rackMasks[player] = this.playerMoves[player].getMask(this.racks[player]);
+        }
+    }
+
+    /**
+     * This class is thrown through the search to unwind it once it runs out
+     * of time. It carries no stack trace, since it is always caught.
+     */
+    private static class TimeUp extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The TimeUp constructor instantiates the exception without a
+         * message or stack trace.
+         */
+        TimeUp() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package indy.engine;
+
+/**
+ * This class is a Strategy that makes the highest scoring move while there
+ * are tiles left in the bag, and plays the endgame found by an EndgameSolver
+ * once the bag is empty.
+ */
+public class EndgameStrategy implements Strategy {
+    private GreedyStrategy greedy;
+    private EndgameSolver solver;
+    private long timeLimitMillis;
+
+    /**
+     * The EndgameStrategy constructor takes in the Dawg of valid words, the
+     * EndgameSolver to solve endgames with and the most time, in
+     * milliseconds, to spend solving each turn of the endgame.
+     */
+    public EndgameStrategy(Dawg dawg, EndgameSolver solver, long timeLimitMillis) {
+        this.greedy = new GreedyStrategy(dawg);
+        this.solver = solver;
+        this.timeLimitMillis = timeLimitMillis;
+    }
+
+    /**
+     * Takes in a GameState and returns the move the current player should
+     * make, or null to pass.
+     */
+    @Override
+    public Move chooseMove(GameState game) {
+        if (!game.getTileBag().isEmpty()) {
+            return this.greedy.chooseMove(game);
+        }
+        Move best = this.solver.solve(game, this.timeLimitMillis).getBestMove();
+        return best.size() == 0 ? null : best;
+    }
+}
@@ -0,0 +1,107 @@
+package indy.engine;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * This class is a Lexicon stored as a GADDAG, which lets a move generator
+ * start at any letter of a word and spell it out in both directions. For
+ * every way of splitting a word into a nonempty prefix and a suffix, the graph
+ * holds the prefix reversed, then Dawg.SEPARATOR, then the suffix, and when
+ * the suffix is empty the separator is left off. A generator can therefore
+ * start at an anchor, walk leftward placing the prefix in reverse, and once
+ * it crosses the separator walk rightward placing the suffix. The graph is
+ * stored and minimized exactly like a Dawg, with one extra edge label.
+ */
+public class Gaddag implements Lexicon {
+    private Dawg graph;
+
+    /**
+     * The Gaddag constructor takes in the minimized graph of the reversed
+     * prefixes and suffixes of every word.
+     */
+    public Gaddag(Dawg graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Takes in the path of a file containing one valid word per line and
+     * returns a Gaddag holding all of them. Every word adds one entry per
+     * letter, so the entries are collected and sorted before being built.
+     */
+    public static Gaddag load(String filePath) throws IOException {
+        ArrayList<String> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+            String line = reader.readLine();
+            while (line != null) {
+                String word = line.trim();
+                if (!word.isEmpty()) {
+                    addEntries(word, entries);
+                }
+                line = reader.readLine();
+            }
+        }
+        Collections.sort(entries);
+
+        DawgBuilder builder = new DawgBuilder();
+        for (String entry : entries) {
+            builder.add(entry);
+        }
+        return new Gaddag(builder.build());
+    }
+
+    /**
+     * Takes in a word and adds the entry for every split of it into a
+     * reversed prefix and a suffix to the list.
+     */
+    private static void addEntries(String word, ArrayList<String> entries) {
+        StringBuilder entry = new StringBuilder(word.length() + 1);
+        for (int split = 1; split <= word.length(); split++) {
+            entry.setLength(0);
+            for (int i = split - 1; i >= 0; i--) {
+                entry.append(word.charAt(i));
+            }
+            if (split < word.length()) {
+                entry.append(Dawg.SEPARATOR).append(word, split, word.length());
+            }
+            entries.add(entry.toString());
+        }
+    }
+
+    /**
+     * Returns true if the word is valid, which is the case if the graph
+     * spells it out in reverse with no separator.
+     */
+    @Override
+    public boolean contains(CharSequence word) {
+        if (word.length() == 0) {
+            return false;
+        }
+
+        int node = this.graph.getRootNode();
+        int edge = Dawg.NO_EDGE;
+        for (int i = word.length() - 1; i >= 0; i--) {
+            int letter = Dawg.toLetterIndex(word.charAt(i));
+            if (node == Dawg.NO_NODE || letter == -1 || letter == Dawg.SEPARATOR_INDEX) {
+                return false;
+            }
+            edge = this.graph.findEdge(node, letter);
+            if (edge == Dawg.NO_EDGE) {
+                return false;
+            }
+            node = this.graph.getChildNode(edge);
+        }
+        return this.graph.isEndOfWord(edge);
+    }
+
+    /**
+     * Returns the underlying graph, whose edges are walked by the
+     * GaddagMoveGenerator and which a LexiconFile can write out.
+     */
+    public Dawg getGraph() {
+        return this.graph;
+    }
+}
@@ -0,0 +1,152 @@
+package indy.engine;
+
+import indy.Constants;
+
+/**
+ * This class finds every legal move that can be made with a rack on a board
+ * by walking a Gaddag outward from each anchor. Starting on the anchor, it
+ * walks leftward, placing the reversed prefix of a word from the rack or
+ * reading it off tiles already on the board, and at any point where the
+ * Gaddag allows it, crosses the separator and walks rightward from just after
+ * the anchor to place the rest of the word. Unlike the left parts built by a
+ * MoveGenerator, every leftward step is already known to lead through the
+ * anchor, so far fewer dead ends are explored.
+ */
+public class GaddagMoveGenerator extends AbstractMoveGenerator {
+    private Dawg graph;
+
+    /**
+     * The GaddagMoveGenerator constructor takes in the Dawg that cross-checks
+     * are worked out with and the Gaddag that moves are spelled out from.
+     */
+    public GaddagMoveGenerator(Dawg dawg, Gaddag gaddag) {
+        super(dawg);
+        this.graph = gaddag.getGraph();
+    }
+
+    /**
+     * Generates every move covering the current anchor by walking leftward
+     * from it, starting at the root of the Gaddag.
+     */
+    @Override
+    void generateFromAnchor() {
+        this.goLeft(this.anchor, this.graph.getRootNode(), 0);
+    }
+
+    /**
+     * Takes in the square to fill while walking leftward, the node reached so
+     * far, and the score of the cross words formed so far. If the square holds
+     * a tile, its letter must be the next one in the Gaddag. Otherwise, every
+     * letter from the rack that is next in the Gaddag and passes the square's
+     * cross-check is tried on it.
+     */
+    private void goLeft(int pos, int node, int crossTotal) {
+        if (this.letters[this.line][pos] != EMPTY) {
+            int edge = this.graph.findEdge(node, this.letters[this.line][pos]);
+            if (edge != Dawg.NO_EDGE) {
+                this.continueLeft(pos, edge, crossTotal);
+            }
+            return;
+        }
+        if (this.placedCount == Constants.STARTING_PLAYER_TILES) {
+            return;
+        }
+
+        int crossMask = this.crossMasks[this.line][pos];
+        for (int edge = this.graph.getFirstEdge(node); edge != Dawg.NO_EDGE; edge = this.graph.getNextEdge(edge)) {
+            int letter = this.graph.getLetterIndex(edge);
+            if (letter == Dawg.SEPARATOR_INDEX || (crossMask & (1 << letter)) == 0) {
+                continue;
+            }
+            for (int useBlank = 0; useBlank <= 1; useBlank++) {
+                if (this.rackCounts[useBlank == 1 ? BLANK_INDEX : letter] == 0) {
+                    continue;
+                }
+                int crossScore = this.scoreCrossWord(pos, letter, useBlank == 1);
+                this.placeTile(pos, letter, useBlank == 1);
+                this.continueLeft(pos, edge, crossTotal + crossScore);
+                this.removeLastTile();
+            }
+        }
+    }
+
+    /**
+     * Takes in the square just filled while walking leftward and the edge
+     * followed for it. If a word ends there and nothing sits on either side
+     * of the letters walked, it is recorded as a move. Then the walk carries
+     * on leftward, as long as it does not reach a free square that is an
+     * anchor itself, and also crosses the separator to walk rightward from
+     * just after the anchor if the square to the left is free.
+     */
+    private void continueLeft(int pos, int edge, int crossTotal) {
+        boolean leftFree = !this.isOccupied(this.line, pos - 1);
+        if (this.graph.isEndOfWord(edge) && leftFree && !this.isOccupied(this.line, this.anchor + 1)) {
+            this.recordMove(pos, this.anchor + 1, crossTotal);
+        }
+
+        int node = this.graph.getChildNode(edge);
+        if (node == Dawg.NO_NODE) {
+            return;
+        }
+
+        if (pos > 0 && (this.isOccupied(this.line, pos - 1) || !this.isAnchor(pos - 1))) {
+            this.goLeft(pos - 1, node, crossTotal);
+        }
+
+        if (leftFree && this.anchor + 1 < Constants.BOARD_COL) {
+            int separator = this.graph.findEdge(node, Dawg.SEPARATOR_INDEX);
+            if (separator != Dawg.NO_EDGE) {
+                this.goRight(this.anchor + 1, this.graph.getChildNode(separator), crossTotal, pos);
+            }
+        }
+    }
+
+    /**
+     * Takes in the square to fill while walking rightward, the node reached
+     * so far, the score of the cross words formed so far, and where the word
+     * starts. Works like goLeft, but in the other direction.
+     */
+    private void goRight(int pos, int node, int crossTotal, int start) {
+        if (this.letters[this.line][pos] != EMPTY) {
+            int edge = this.graph.findEdge(node, this.letters[this.line][pos]);
+            if (edge != Dawg.NO_EDGE) {
+                this.continueRight(pos, edge, crossTotal, start);
+            }
+            return;
+        }
+        if (this.placedCount == Constants.STARTING_PLAYER_TILES) {
+            return;
+        }
+
+        int crossMask = this.crossMasks[this.line][pos];
+        for (int edge = this.graph.getFirstEdge(node); edge != Dawg.NO_EDGE; edge = this.graph.getNextEdge(edge)) {
+            int letter = this.graph.getLetterIndex(edge);
+            if ((crossMask & (1 << letter)) == 0) {
+                continue;
+            }
+            for (int useBlank = 0; useBlank <= 1; useBlank++) {
+                if (this.rackCounts[useBlank == 1 ? BLANK_INDEX : letter] == 0) {
+                    continue;
+                }
+                int crossScore = this.scoreCrossWord(pos, letter, useBlank == 1);
+                this.placeTile(pos, letter, useBlank == 1);
+                this.continueRight(pos, edge, crossTotal + crossScore, start);
+                this.removeLastTile();
+            }
+        }
+    }
+
+    /**
+     * Takes in the square just filled while walking rightward and the edge
+     * followed for it. If a word ends there and the next square is free, it
+     * is recorded as a move, and the walk carries on rightward.
+     */
+    private void continueRight(int pos, int edge, int crossTotal, int start) {
+        if (this.graph.isEndOfWord(edge) && !this.isOccupied(this.line, pos + 1)) {
+            this.recordMove(start, pos + 1, crossTotal);
+        }
+        if (pos + 1 < Constants.BOARD_COL) {
+            this.goRight(pos + 1, this.graph.getChildNode(edge), crossTotal, start);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package indy.engine;
+
+import indy.Constants;
+
+/**
+ * This class models a whole game of Scrabble between two players without any
+ * graphics, following the same rules as the Game class: the opening racks are
+ * dealt one tile at a time to each player in turn, a player draws as many tiles
+ * as they placed after every valid play, and the game is over once the bag is
+ * empty and a player has played every tile on their rack, or when a player
+ * resigns. It keeps CrossChecks in sync with the board, so moves made by a
+ * MoveGenerator can be generated and validated without rescanning the board,
+ * and records every turn in a MoveJournal.
+ */
+public class GameState {
+    private BoardGrid board;
+    private CrossChecks crossChecks;
+    private MoveValidator validator;
+    private TileBag tileBag;
+    private Rack[] racks;
+    private int[] scores;
+    private int currentPlayer;
+    private int consecutivePasses;
+    private boolean over;
+    private MoveJournal journal;
+
+    /**
+     * The GameState constructor takes in the Dawg of valid words and the seed
+     * of the tile bag, and deals both players their opening racks.
+     */
+    public GameState(Dawg dawg, long seed) {
+        this.board = new BoardGrid();
+        this.crossChecks = new CrossChecks(dawg);
+        this.validator = new MoveValidator(dawg);
+        this.tileBag = new TileBag(seed);
+        this.racks = new Rack[] {new Rack(), new Rack()};
+        this.scores = new int[2];
+        this.currentPlayer = 0;
+        this.consecutivePasses = 0;
+        this.over = false;
+        this.journal = new MoveJournal(seed);
+
+        for (int i = 0; i < Constants.STARTING_PLAYER_TILES; i++) {
+            this.racks[0].add(this.tileBag.draw());
+            this.racks[1].add(this.tileBag.draw());
+        }
+    }
+
+    /**
+     * Takes in a Move for the current player and plays it if it is valid and
+     * every tile it places is on their rack. The score of the move is set, it
+     * is added to the player's score and recorded in the journal, and then
+     * either the game ends or the player draws new tiles and the turn passes
+     * to the other player. Returns the score of the move, or INVALID_MOVE if
+     * it could not be played, in which case nothing is changed.
+     */
+    public int play(Move move) {
+        if (this.over) {
+            throw new IllegalStateException("The game is over");
+        }
+        int score = this.validator.validate(this.board, this.crossChecks, move);
+        if (score == MoveValidator.INVALID_MOVE || !this.racks[this.currentPlayer].removeMove(move)) {
+            return MoveValidator.INVALID_MOVE;
+        }
+
+        move.setScore(score);
+        this.scores[this.currentPlayer] += score;
+        this.journal.recordPlay(move);
+        this.board.placeMove(move);
+        this.crossChecks.movePlaced(this.board, move);
+        this.consecutivePasses = 0;
+
+        Rack rack = this.racks[this.currentPlayer];
+        if (this.tileBag.isEmpty() && rack.isEmpty()) {
+            this.over = true;
+        }
+
+        else {
+            this.tileBag.fillRack(rack);
+            this.switchTurn();
+        }
+        return score;
+    }
+
+    /**
+     * Passes the current player's turn to the other player.
+     */
+    public void pass() {
+        if (this.over) {
+            throw new IllegalStateException("The game is over");
+        }
+        this.journal.recordPass();
+        this.consecutivePasses++;
+        this.switchTurn();
+    }
+
+    /**
+     * Ends the game with the current player resigning, which makes the
+     * other player the winner no matter the scores.
+     */
+    public void resign() {
+        if (this.over) {
+            throw new IllegalStateException("The game is over");
+        }
+        this.journal.recordResign();
+        this.over = true;
+    }
+
+    /**
+     * Returns the board, which must not be changed other than through play.
+     */
+    public BoardGrid getBoard() {
+        return this.board;
+    }
+
+    /**
+     * Returns the CrossChecks kept in sync with the board.
+     */
+    public CrossChecks getCrossChecks() {
+        return this.crossChecks;
+    }
+
+    /**
+     * Returns an immutable BoardSnapshot of the board as it is now.
+     */
+    public BoardSnapshot getSnapshot() {
+        return new BoardSnapshot(this.board, this.crossChecks);
+    }
+
+    /**
+     * Returns the Zobrist hash of the position: the tiles on the board and
+     * which player is to move.
+     */
+    public long getHash() {
+        long hash = this.board.getHash();
+        if (this.currentPlayer == 1) {
+            hash ^= Zobrist.SIDE_TO_MOVE;
+        }
+        return hash;
+    }
+
+    /**
+     * Takes in a player, 0 for the first player and 1 for the second, and
+     * returns their rack.
+     */
+    public Rack getRack(int player) {
+        return this.racks[player];
+    }
+
+    /**
+     * Takes in a player, 0 for the first player and 1 for the second, and
+     * returns their score.
+     */
+    public int getScore(int player) {
+        return this.scores[player];
+    }
+
+    /**
+     * Returns the player whose turn it is, or who ended the game.
+     */
+    public int getCurrentPlayer() {
+        return this.currentPlayer;
+    }
+
+    /**
+     * Returns the number of turns passed in a row since the last play.
+     */
+    public int getConsecutivePasses() {
+        return this.consecutivePasses;
+    }
+
+    /**
+     * Returns the tile bag.
+     */
+    public TileBag getTileBag() {
+        return this.tileBag;
+    }
+
+    /**
+     * Returns true if the game is over.
+     */
+    public boolean isOver() {
+        return this.over;
+    }
+
+    /**
+     * Returns the journal of every turn played so far.
+     */
+    public MoveJournal getJournal() {
+        return this.journal;
+    }
+
+    /**
+     * Helper method that hands the turn to the other player.
+     */
+    private void switchTurn() {
+        this.currentPlayer = 1 - this.currentPlayer;
+    }
+}
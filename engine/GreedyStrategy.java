@@ -0,0 +1,33 @@
+package indy.engine;
+
+/**
+ * This class is a Strategy that always makes the highest scoring move,
+ * without regard to the tiles it keeps or the squares it opens up.
+ */
+public class GreedyStrategy implements Strategy {
+    private MoveGenerator generator;
+
+    /**
+     * The GreedyStrategy constructor takes in the Dawg of valid words that
+     * moves are generated from.
+     */
+    public GreedyStrategy(Dawg dawg) {
+        this.generator = new MoveGenerator(dawg);
+    }
+
+    /**
+     * Takes in a GameState and returns the highest scoring move the current
+     * player can make, or null if they cannot make any.
+     */
+    @Override
+    public Move chooseMove(GameState game) {
+        Move best = null;
+        for (Move move : this.generator.generate(game.getBoard(), game.getCrossChecks(),
+                game.getRack(game.getCurrentPlayer()))) {
+            if (best == null || move.getScore() > best.getScore()) {
+                best = move;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,54 @@
+package indy.engine;
+
+/**
+ * This class replays a MoveJournal through the rules, turn by turn, onto a new
+ * GameState dealt from the seed the journal was recorded with. Every play is
+ * validated and scored again, so a journal recorded by an earlier version of
+ * the game makes a regression test for the rules: the replay stops at the first
+ * play that is now invalid or scores differently from how it was recorded.
+ */
+public class JournalReplayer {
+    private Dawg dawg;
+    // reused for every play read back from a journal
+    private Move move;
+
+    /**
+     * The JournalReplayer constructor takes in the Dawg of valid words that
+     * plays are validated against.
+     */
+    public JournalReplayer(Dawg dawg) {
+        this.dawg = dawg;
+        this.move = new Move();
+    }
+
+    /**
+     * Takes in a MoveJournal and replays every turn in it, returning the
+     * GameState the game ends up in. Throws an IllegalStateException naming
+     * the entry if a play is invalid or does not score what was recorded.
+     */
+    public GameState replay(MoveJournal journal) {
+        GameState game = new GameState(this.dawg, journal.getSeed());
+        int offset = 0;
+        for (int entry = 0; entry < journal.getEntryCount(); entry++) {
+            int type = journal.getType(offset);
+            offset = journal.read(offset, this.move);
+            if (type == MoveJournal.PLAY) {
+                int recorded = this.move.getScore();
+                int score = game.play(this.move);
+                if (score != recorded) {
+                    throw new IllegalStateException("Entry " + entry + " " + this.move + " was recorded as scoring "
+                            + recorded + " but now scores " + score);
+                }
+            }
+
+            else if (type == MoveJournal.PASS) {
+                game.pass();
+            }
+
+            else {
+                game.resign();
+            }
+        }
+        return game;
+    }
+}
@@ -0,0 +1,42 @@
+package indy.engine;
+
+/**
+ * This class is a Strategy that makes the move with the highest equity,
+ * meaning its score plus the value in a LeaveTable of the tiles it keeps,
+ * while there are tiles left in the bag to draw. Once the bag is empty the
+ * tiles kept are only worth what can still be played with them, so it makes
+ * the highest scoring move instead.
+ */
+public class LeaveStrategy implements Strategy {
+    private MoveGenerator generator;
+    private LeaveTable leaves;
+
+    /**
+     * The LeaveStrategy constructor takes in the Dawg of valid words that
+     * moves are generated from and the LeaveTable leaves are valued by.
+     */
+    public LeaveStrategy(Dawg dawg, LeaveTable leaves) {
+        this.generator = new MoveGenerator(dawg);
+        this.leaves = leaves;
+    }
+
+    /**
+     * Takes in a GameState and returns the move with the highest equity the
+     * current player can make, or null if they cannot make any.
+     */
+    @Override
+    public Move chooseMove(GameState game) {
+        Rack rack = game.getRack(game.getCurrentPlayer());
+        boolean useLeaves = !game.getTileBag().isEmpty();
+        Move best = null;
+        double bestEquity = 0;
+        for (Move move : this.generator.generate(game.getBoard(), game.getCrossChecks(), rack)) {
+            double equity = move.getScore() + (useLeaves ? this.leaves.getValue(rack, move) : 0);
+            if (best == null || equity > bestEquity) {
+                best = move;
+                bestEquity = equity;
+            }
+        }
+        return best;
+    }
+}
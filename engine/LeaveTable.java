@@ -0,0 +1,210 @@
+package indy.engine;
+
+import indy.Constants;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class holds how much every leave is worth, a leave being the tiles
+ * left on a rack after a move, from none up to six. Kept tiles that go well
+ * together, such as an S or a blank, make for higher scores on the turns
+ * after, while a Q without a U or a rack of vowels drags them down, so
+ * adding the value of its leave to the score of a move makes for a better
+ * pick than the score alone.
+ *
+ * Every multiset of up to six of the 27 kinds of tile is given a rank, so
+ * that the values can be kept in one array in rank order with no keys. The
+ * leaves of each size are ranked in turn, from the empty leave up. Within a
+ * size k, a leave with kinds a1 <= a2 <= ... <= ak in alphabetical order,
+ * blanks last, is turned into the strictly increasing b1 < b2 < ... < bk with
+ * bi = ai + i - 1, and its rank is the sum of the binomials C(bi, i), which
+ * numbers every leave of that size exactly once. Ranking a rack only takes a
+ * pass over its histogram and a table lookup per tile.
+ *
+ * The values are stored as shorts, in hundredths of a point. The file is a
+ * header of four ints, a magic number, the format version, the largest leave
+ * size and the number of values, followed by the values in rank order, so
+ * that reading it maps the file into memory and looks values up in place.
+ */
+public class LeaveTable {
+    public static final int MAX_LEAVE = Constants.STARTING_PLAYER_TILES - 1;
+    public static final int SIZE;
+
+    private static final int MAGIC = 0x53434C56;
+    private static final int VERSION = 1;
+    private static final int HEADER_INTS = 4;
+    private static final double SCALE = 100;
+    // indexed by n, then k, up to the largest bi of a leave
+    private static final int[][] BINOMIALS;
+    // indexed by leave size, the rank of the first leave of that size
+    private static final int[] OFFSETS;
+
+    static {
+        int maxN = TileKind.KIND_COUNT + MAX_LEAVE;
+        BINOMIALS = new int[maxN + 1][MAX_LEAVE + 1];
+        for (int n = 0; n <= maxN; n++) {
+            BINOMIALS[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, MAX_LEAVE); k++) {
+                BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + (k < n ? BINOMIALS[n - 1][k] : 0);
+            }
+        }
+        OFFSETS = new int[MAX_LEAVE + 2];
+        for (int k = 0; k <= MAX_LEAVE; k++) {
+            // the number of multisets of k tiles from the kinds of tile
+            OFFSETS[k + 1] = OFFSETS[k] + BINOMIALS[TileKind.KIND_COUNT + k - 1][k];
+        }
+        SIZE = OFFSETS[MAX_LEAVE + 1];
+    }
+
+    private ShortBuffer values;
+
+    /**
+     * The LeaveTable constructor takes in the value of every leave in rank
+     * order, in hundredths of a point.
+     */
+    LeaveTable(ShortBuffer values) {
+        this.values = values;
+    }
+
+    /**
+     * Takes in the value of every leave in rank order, in points, and
+     * returns a table of them.
+     */
+    public static LeaveTable of(double[] values) {
+        if (values.length != SIZE) {
+            throw new IllegalArgumentException("Expected " + SIZE + " values but got " + values.length);
+        }
+        ShortBuffer shorts = ShortBuffer.allocate(SIZE);
+        for (double value : values) {
+            shorts.put((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(value * SCALE))));
+        }
+        shorts.clear();
+        return new LeaveTable(shorts);
+    }
+
+    /**
+     * Takes in a Rack of at most six tiles and returns the rank of the leave
+     * it holds, or -1 if it holds more.
+     */
+    public static int rank(Rack rack) {
+        if (rack.size() > MAX_LEAVE) {
+            return -1;
+        }
+        int rank = 0;
+        int i = 0;
+        for (int kind = 0; kind < TileKind.KIND_COUNT; kind++) {
+            for (int j = rack.getCount(kind); j > 0; j--) {
+                i++;
+                rank += BINOMIALS[kind + i - 1][i];
+            }
+        }
+        return OFFSETS[i] + rank;
+    }
+
+    /**
+     * Takes in a Rack and a Move made from it and returns the rank of the
+     * leave the move keeps, without changing the rack, or -1 if the move
+     * keeps more than six tiles.
+     */
+    public static int rank(Rack rack, Move move) {
+        if (rack.size() - move.size() > MAX_LEAVE) {
+            return -1;
+        }
+        int rank = 0;
+        int i = 0;
+        for (int kind = 0; kind < TileKind.KIND_COUNT; kind++) {
+            int count = rack.getCount(kind);
+            if (count == 0) {
+                continue;
+            }
+            for (int tile = 0; tile < move.size(); tile++) {
+                int played = move.isBlank(tile) ? Rack.BLANK_INDEX : Rack.toIndex(move.getLetter(tile));
+                if (played == kind) {
+                    count--;
+                }
+            }
+            for (int j = count; j > 0; j--) {
+                i++;
+                rank += BINOMIALS[kind + i - 1][i];
+            }
+        }
+        return OFFSETS[i] + rank;
+    }
+
+    /**
+     * Takes in the rank of a leave and returns its value in points.
+     */
+    public double getValue(int rank) {
+        return this.values.get(rank) / SCALE;
+    }
+
+    /**
+     * Takes in a Rack of at most six tiles and returns the value of the
+     * leave it holds, in points.
+     */
+    public double getValue(Rack rack) {
+        return this.getValue(rank(rack));
+    }
+
+    /**
+     * Takes in a Rack and a Move made from it and returns the value of the
+     * leave the move keeps, in points, or 0 if it keeps the whole rack.
+     */
+    public double getValue(Rack rack, Move move) {
+        int rank = rank(rack, move);
+        return rank < 0 ? 0 : this.getValue(rank);
+    }
+
+    /**
+     * Takes in the path of a leave table written by write and returns the
+     * table, backed by a read only memory mapping of the file. Throws an
+     * IOException if the file cannot be read or is not a leave table of this
+     * version.
+     */
+    public static LeaveTable map(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_INTS * Integer.BYTES) {
+                throw new IOException(path + " is too short to be a leave table");
+            }
+
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException(path + " is not a leave table of version " + VERSION);
+            }
+            if (buffer.getInt() != MAX_LEAVE || buffer.getInt() != SIZE || buffer.remaining() < SIZE * Short.BYTES) {
+                throw new IOException(path + " does not hold every leave of up to " + MAX_LEAVE + " tiles");
+            }
+            return new LeaveTable(buffer.slice().asShortBuffer());
+        }
+    }
+
+    /**
+     * Takes in the path to write to and writes the table out in its binary
+     * form.
+     */
+    public void write(String path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_INTS * Integer.BYTES + SIZE * Short.BYTES);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(MAX_LEAVE);
+        buffer.putInt(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            buffer.putShort(this.values.get(i));
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package indy.engine;
+
+import indy.Constants;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class works out the value of every leave from games in which both
+ * players always make the highest scoring move. Each time a player makes a
+ * move while there are still tiles in the bag, the leave it keeps is paired
+ * with what that player scores on their next turn, and the value of a leave
+ * is how much more than the average turn the turns after it score.
+ *
+ * Most of the million or so leaves come up rarely or never, so the value of
+ * a leave is pulled toward the value of the empty leave plus how much more
+ * each of its tiles is worth kept on its own than the empty leave, since the
+ * leaves of no tiles or one come up often enough to be measured well. It is
+ * pulled by as much as PRIOR_WEIGHT turns of its own would pull it, so a
+ * leave seen many times is valued by its own turns, and one never seen by its
+ * tiles alone.
+ *
+ * The games are split into one chunk per thread of a ForkJoinPool, each
+ * adding up its own samples, which are merged once every chunk is done. Game
+ * i is dealt from the seed firstSeed + i, so a build gives the same table no
+ * matter how many threads it runs on.
+ */
+public class LeaveTableBuilder {
+    // how many turns the value a leave is pulled toward counts for against its own
+    private static final int PRIOR_WEIGHT = 10;
+
+    private Dawg dawg;
+
+    /**
+     * The LeaveTableBuilder constructor takes in the Dawg of valid words that
+     * the games are played with.
+     */
+    public LeaveTableBuilder(Dawg dawg) {
+        this.dawg = dawg;
+    }
+
+    /**
+     * Takes in a ForkJoinPool, the seed of the first game and the number of
+     * games, plays them across the pool and returns the LeaveTable they give.
+     */
+    public LeaveTable build(ForkJoinPool pool, long firstSeed, int games) {
+        return this.sample(pool, firstSeed, games).toTable();
+    }
+
+    /**
+     * Takes in a ForkJoinPool, the seed of the first game and the number of
+     * games, plays them across the pool and returns the Samples of every
+     * leave, before they are turned into values.
+     */
+    public Samples sample(ForkJoinPool pool, long firstSeed, int games) {
+        int chunks = Math.max(1, Math.min(games, pool.getParallelism()));
+        return pool.invoke(new ChunksTask(firstSeed, games, chunks, 0, chunks));
+    }
+
+    /**
+     * Helper method that plays one game from the given seed with the given
+     * strategy for both players, adding a sample for every leave kept while
+     * there were tiles in the bag and followed by another turn.
+     */
+    private void playGame(long seed, Strategy greedy, Samples samples) {
+        GameState game = new GameState(this.dawg, seed);
+        // indexed by player, the rank of the leave they kept on their last turn, or -1
+        int[] pending = {-1, -1};
+        while (!game.isOver() && game.getConsecutivePasses() < Constants.MAX_CONSECUTIVE_PASSES) {
+            int player = game.getCurrentPlayer();
+            Move move = greedy.chooseMove(game);
+            if (pending[player] >= 0) {
+                samples.add(pending[player], move == null ? 0 : move.getScore());
+                pending[player] = -1;
+            }
+
+            if (move == null) {
+                game.pass();
+            }
+
+            else {
+                int leave = game.getTileBag().isEmpty() ? -1 : LeaveTable.rank(game.getRack(player), move);
+                game.play(move);
+                pending[player] = leave;
+            }
+        }
+    }
+
+    /**
+     * This class adds up, for every leave by rank, the number of turns that
+     * followed it and their total score.
+     */
+    public static class Samples {
+        private double[] totals;
+        private int[] counts;
+
+        /**
+         * The Samples constructor instantiates samples of no turns.
+         */
+        Samples() {
+            this.totals = new double[LeaveTable.SIZE];
+            this.counts = new int[LeaveTable.SIZE];
+        }
+
+        /**
+         * Takes in the rank of a leave and the score of the turn after it,
+         * and adds it.
+         */
+        void add(int rank, int score) {
+            this.totals[rank] += score;
+            this.counts[rank]++;
+        }
+
+        /**
+         * Takes in other Samples and adds them to these, returning these.
+         */
+        Samples merge(Samples other) {
+            for (int i = 0; i < LeaveTable.SIZE; i++) {
+                this.totals[i] += other.totals[i];
+                this.counts[i] += other.counts[i];
+            }
+            return this;
+        }
+
+        /**
+         * Returns the number of turns sampled.
+         */
+        public long getTurns() {
+            long turns = 0;
+            for (int count : this.counts) {
+                turns += count;
+            }
+            return turns;
+        }
+
+        /**
+         * Returns the number of leaves that were followed by at least one
+         * turn.
+         */
+        public int getLeavesSeen() {
+            int seen = 0;
+            for (int count : this.counts) {
+                seen += count > 0 ? 1 : 0;
+            }
+            return seen;
+        }
+
+        /**
+         * Returns the LeaveTable the samples give.
+         */
+        public LeaveTable toTable() {
+            double total = 0;
+            for (double sum : this.totals) {
+                total += sum;
+            }
+            long turns = this.getTurns();
+            double average = turns == 0 ? 0 : total / turns;
+
+            // the empty leave is pulled toward 0, and the leaves of a single tile toward it
+            Rack rack = new Rack();
+            double empty = this.getValue(LeaveTable.rank(rack), average, 0);
+            double[] tileValues = new double[TileKind.KIND_COUNT];
+            for (int kind = 0; kind < TileKind.KIND_COUNT; kind++) {
+                rack.addIndex(kind);
+                tileValues[kind] = this.getValue(LeaveTable.rank(rack), average, empty) - empty;
+                rack.removeIndex(kind);
+            }
+
+            double[] values = new double[LeaveTable.SIZE];
+            this.fillValues(values, tileValues, average, rack, 0, empty);
+            return LeaveTable.of(values);
+        }
+
+        /**
+         * Helper method that goes through every leave that can be made by
+         * adding tiles of the given kind or later to the rack, filling in
+         * its value given the value it is pulled toward, which for the empty
+         * leave and the leaves of one tile is already their value.
+         */
+        private void fillValues(double[] values, double[] tileValues, double average, Rack rack, int kind,
+                                double prior) {
+            int rank = LeaveTable.rank(rack);
+            values[rank] = rack.size() <= 1 ? prior : this.getValue(rank, average, prior);
+            if (rack.size() == LeaveTable.MAX_LEAVE) {
+                return;
+            }
+            for (int next = kind; next < TileKind.KIND_COUNT; next++) {
+                rack.addIndex(next);
+                this.fillValues(values, tileValues, average, rack, next, prior + tileValues[next]);
+                rack.removeIndex(next);
+            }
+        }
+
+        /**
+         * Helper method that takes in the rank of a leave, the average score
+         * of every turn and the value to pull the leave toward, and returns
+         * its value.
+         */
+        private double getValue(int rank, double average, double prior) {
+            double surplus = this.totals[rank] - this.counts[rank] * average;
+            return (surplus + PRIOR_WEIGHT * prior) / (this.counts[rank] + PRIOR_WEIGHT);
+        }
+    }
+
+    /**
+     * This class plays a range of the chunks of a build, splitting it in half
+     * until only one chunk is left.
+     */
+    private class ChunksTask extends RecursiveTask<Samples> {
+        private static final long serialVersionUID = 1L;
+
+        private long firstSeed;
+        private int games;
+        private int chunks;
+        private int from;
+        private int to;
+
+        /**
+         * The ChunksTask constructor takes in the seed of the first game, the
+         * number of games and of chunks in the build, and the range of chunks
+         * to play, from inclusive to exclusive. Chunk c plays every game i
+         * with i % chunks == c.
+         */
+        ChunksTask(long firstSeed, int games, int chunks, int from, int to) {
+            this.firstSeed = firstSeed;
+            this.games = games;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Plays the chunks of the range, forking the second half off to
+         * another thread, and returns their merged samples.
+         */
+        @Override
+        protected Samples compute() {
+            if (this.to - this.from <= 1) {
+                Samples samples = new Samples();
+                Strategy greedy = new GreedyStrategy(LeaveTableBuilder.this.dawg);
+                for (int game = this.from; game < this.games; game += this.chunks) {
+                    LeaveTableBuilder.this.playGame(this.firstSeed + game, greedy, samples);
+                }
+                return samples;
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            ChunksTask second = new ChunksTask(this.firstSeed, this.games, this.chunks, middle, this.to);
+            second.fork();
+            Samples samples = new ChunksTask(this.firstSeed, this.games, this.chunks, this.from, middle).compute();
+            return samples.merge(second.join());
+        }
+    }
+
+    /**
+     * Builds a leave table from games and writes it out. Takes in the path of
+     * the word list, of the compiled lexicon and of the leave table to write,
+     * and optionally the number of games.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: LeaveTableBuilder <word list> <compiled lexicon> <leave table> [games]");
+            System.exit(1);
+        }
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 10000;
+
+        Dawg dawg = LexiconFile.load(args[1], args[0]);
+        long start = System.nanoTime();
+        Samples samples = new LeaveTableBuilder(dawg).sample(ForkJoinPool.commonPool(), 0, games);
+        LeaveTable table = samples.toTable();
+        table.write(args[2]);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Wrote %d leaves to %s from %d turns of %d games (%d leaves seen) in %.1f s%n",
+                LeaveTable.SIZE, args[2], samples.getTurns(), games, samples.getLeavesSeen(), seconds);
+        for (String leave : new String[] {"", "S", "?", "E", "Q", "V", "QU", "ERS", "III", "ERST?"}) {
+            System.out.printf("%-6s %6.2f%n", leave.isEmpty() ? "-" : leave, table.getValue(Rack.of(leave)));
+        }
+    }
+}
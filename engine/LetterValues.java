@@ -0,0 +1,81 @@
+package indy.engine;
+
+import indy.Constants;
+
+/**
+ * This class holds the point value and the tile bag frequency of every kind of
+ * tile in Scrabble, indexed by letter, so that the headless engine can score
+ * and count tiles without instantiating any graphical Tile objects. Blank
+ * tiles are represented by the BLANK character.
+ */
+public final class LetterValues {
+    public static final char BLANK = '?';
+    public static final int ALPHABET_SIZE = 26;
+
+    private static final int[] POINT_VALUES = {
+            Constants.AEIOULNSTR_POINT_VAL, Constants.BCMP_POINT_VAL, Constants.BCMP_POINT_VAL,
+            Constants.DG_POINT_VAL, Constants.AEIOULNSTR_POINT_VAL, Constants.FHVWY_POINT_VAL,
+            Constants.DG_POINT_VAL, Constants.FHVWY_POINT_VAL, Constants.AEIOULNSTR_POINT_VAL,
+            Constants.JX_POINT_VAL, Constants.K_POINT_VAL, Constants.AEIOULNSTR_POINT_VAL,
+            Constants.BCMP_POINT_VAL, Constants.AEIOULNSTR_POINT_VAL, Constants.AEIOULNSTR_POINT_VAL,
+            Constants.BCMP_POINT_VAL, Constants.QZ_POINT_VAL, Constants.AEIOULNSTR_POINT_VAL,
+            Constants.AEIOULNSTR_POINT_VAL, Constants.AEIOULNSTR_POINT_VAL, Constants.AEIOULNSTR_POINT_VAL,
+            Constants.FHVWY_POINT_VAL, Constants.FHVWY_POINT_VAL, Constants.JX_POINT_VAL,
+            Constants.FHVWY_POINT_VAL, Constants.QZ_POINT_VAL};
+
+    private static final int[] FREQUENCIES = {
+            Constants.IA_FREQ, Constants.YWVHFPMCB_FREQ, Constants.YWVHFPMCB_FREQ,
+            Constants.DUSL_FREQ, Constants.E_FREQ, Constants.YWVHFPMCB_FREQ,
+            Constants.G_FREQ, Constants.YWVHFPMCB_FREQ, Constants.IA_FREQ,
+            Constants.ZXQJK_FREQ, Constants.ZXQJK_FREQ, Constants.DUSL_FREQ,
+            Constants.YWVHFPMCB_FREQ, Constants.TRN_FREQ, Constants.O_FREQ,
+            Constants.YWVHFPMCB_FREQ, Constants.ZXQJK_FREQ, Constants.TRN_FREQ,
+            Constants.DUSL_FREQ, Constants.TRN_FREQ, Constants.DUSL_FREQ,
+            Constants.YWVHFPMCB_FREQ, Constants.YWVHFPMCB_FREQ, Constants.ZXQJK_FREQ,
+            Constants.YWVHFPMCB_FREQ, Constants.ZXQJK_FREQ};
+
+    private LetterValues() {
+    }
+
+    /**
+     * Takes in a char and returns true if it is one of the uppercase
+     * letters A through Z, and false otherwise.
+     */
+    public static boolean isLetter(char letter) {
+        return letter >= 'A' && letter <= 'Z';
+    }
+
+    /**
+     * Takes in a char representing a tile and returns the point value of
+     * that tile. Blank tiles, as well as anything that is not a letter,
+     * are worth zero points.
+     */
+    public static int getPointValue(char letter) {
+        if (!isLetter(letter)) {
+            return Constants.BLANK_POINT_VAL;
+        }
+        return POINT_VALUES[letter - 'A'];
+    }
+
+    /**
+     * Takes in the index of a letter, from 0 for A to 25 for Z, and returns
+     * the point value of that letter's tile.
+     */
+    public static int getPointValueOfIndex(int letterIndex) {
+        return POINT_VALUES[letterIndex];
+    }
+
+    /**
+     * Takes in a char representing a tile and returns the number of
+     * tiles of that kind in a full tile bag.
+     */
+    public static int getFrequency(char letter) {
+        if (letter == BLANK) {
+            return Constants.YWVHFPMCB_FREQ;
+        }
+        if (!isLetter(letter)) {
+            return 0;
+        }
+        return FREQUENCIES[letter - 'A'];
+    }
+}
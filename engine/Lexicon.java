@@ -0,0 +1,14 @@
+package indy.engine;
+
+/**
+ * This interface models the collection of all valid Scrabble words that the
+ * engine checks words against. Words are made of uppercase letters.
+ */
+public interface Lexicon {
+
+    /**
+     * Takes in a sequence of characters and returns true if it is a valid
+     * Scrabble word, and false otherwise.
+     */
+    boolean contains(CharSequence word);
+}
@@ -0,0 +1,186 @@
+package indy.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.DoubleConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * This class reads and writes the compiled binary form of a Dawg, so that the
+ * word list does not have to be parsed and the graph does not have to be built
+ * every time a game starts. The file is a header of six ints, a magic number,
+ * the format version, the number of words, the number of ints in the graph,
+ * and the length in bytes and CRC32 of the word list it was compiled from,
+ * followed by the encoded edges exactly as the Dawg stores them. Reading it
+ * maps the file into memory and hands that mapping straight to the Dawg, so
+ * nothing is copied and no objects are created per word.
+ */
+public final class LexiconFile {
+    private static final int MAGIC = 0x53435244;
+    private static final int VERSION = 2;
+    private static final int HEADER_INTS = 6;
+
+    private LexiconFile() {
+    }
+
+    /**
+     * Takes in the path of a compiled binary lexicon and returns the Dawg
+     * stored in it, backed by a read only memory mapping of the file.
+     * Throws an IOException if the file cannot be read or is not a
+     * compiled lexicon of this version.
+     */
+    public static Dawg map(String binaryPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(binaryPath), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_INTS * Integer.BYTES) {
+                throw new IOException(binaryPath + " is too short to be a compiled lexicon");
+            }
+
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            IntBuffer ints = buffer.asIntBuffer();
+            if (ints.get(0) != MAGIC || ints.get(1) != VERSION) {
+                throw new IOException(binaryPath + " is not a compiled lexicon of version " + VERSION);
+            }
+
+            int wordCount = ints.get(2);
+            int edgeInts = ints.get(3);
+            if (edgeInts < 0 || edgeInts > ints.limit() - HEADER_INTS) {
+                throw new IOException(binaryPath + " is truncated");
+            }
+
+            ints.position(HEADER_INTS);
+            ints.limit(HEADER_INTS + edgeInts);
+            return new Dawg(ints.slice(), wordCount);
+        }
+    }
+
+    /**
+     * Takes in a Dawg, the path of the text word list it was built from and
+     * the path to write to, and writes the Dawg out in the compiled binary
+     * form, along with the fingerprint of the word list.
+     */
+    public static void write(Dawg dawg, String textPath, String binaryPath) throws IOException {
+        int[] fingerprint = getFingerprint(textPath);
+        IntBuffer edges = dawg.getEdges();
+        edges.clear();
+        ByteBuffer buffer = ByteBuffer.allocate((HEADER_INTS + edges.limit()) * Integer.BYTES);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(dawg.size());
+        buffer.putInt(edges.limit());
+        buffer.putInt(fingerprint[0]);
+        buffer.putInt(fingerprint[1]);
+        buffer.asIntBuffer().put(edges);
+        buffer.clear();
+
+        try (FileChannel channel = FileChannel.open(Paths.get(binaryPath), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Takes in the path of a compiled binary lexicon and the path of the
+     * text word list it was compiled from. Returns the Dawg mapped from the
+     * binary file if it exists, can be read and was compiled from the word
+     * list as it is now, and otherwise falls back to building the Dawg from
+     * the text file, including when mapping it throws something other than
+     * an IOException. A binary file compiled from a different word list is
+     * reported with a warning to compile it again.
+     */
+    public static Dawg load(String binaryPath, String textPath) throws IOException {
+        return load(binaryPath, textPath, progress -> { });
+    }
+
+    /**
+     * Works like the load method above, but also takes in a DoubleConsumer
+     * that is told the fraction of the loading done so far, from 0 to 1.
+     * Mapping the binary file is reported as a single step.
+     */
+    public static Dawg load(String binaryPath, String textPath, DoubleConsumer progress) throws IOException {
+        if (new File(binaryPath).isFile()) {
+            try {
+                if (isCompiledFrom(binaryPath, textPath)) {
+                    Dawg dawg = map(binaryPath);
+                    progress.accept(1.0);
+                    return dawg;
+                }
+                System.err.println("Warning: " + binaryPath + " was not compiled from the current " + textPath
+                        + ", so the word list is loaded instead. Compile it again with"
+                        + " java indy.engine.LexiconFile " + textPath + " " + binaryPath);
+            }
+
+            catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        return Dawg.load(textPath, progress);
+    }
+
+    /**
+     * Compiles a text word list into a binary lexicon. Takes in the path
+     * of the word list followed by the path of the binary file to write.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LexiconFile <word list> <compiled lexicon>");
+            System.exit(1);
+        }
+
+        Dawg dawg = Dawg.load(args[0]);
+        write(dawg, args[0], args[1]);
+        Path output = Paths.get(args[1]);
+        System.out.println("Wrote " + dawg.size() + " words in " + dawg.getEdgeCount() + " edges to "
+                + output + " (" + output.toFile().length() + " bytes)");
+    }
+
+    /**
+     * Takes in the path of a compiled binary lexicon and the path of a text
+     * word list, and returns true if the binary file was compiled from the
+     * word list as it is now, judged by the fingerprint in its header. A
+     * word list that cannot be read is taken to match, since there is
+     * nothing to load in its place. Throws an IOException if the binary file
+     * cannot be read or is not a compiled lexicon of this version.
+     */
+    public static boolean isCompiledFrom(String binaryPath, String textPath) throws IOException {
+        if (!new File(textPath).isFile()) {
+            return true;
+        }
+        IntBuffer header;
+        try (FileChannel channel = FileChannel.open(Paths.get(binaryPath), StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_INTS * Integer.BYTES) {
+                throw new IOException(binaryPath + " is too short to be a compiled lexicon");
+            }
+            header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_INTS * Integer.BYTES).asIntBuffer();
+        }
+        if (header.get(0) != MAGIC || header.get(1) != VERSION) {
+            throw new IOException(binaryPath + " is not a compiled lexicon of version " + VERSION);
+        }
+
+        int[] fingerprint = getFingerprint(textPath);
+        return header.get(4) == fingerprint[0] && header.get(5) == fingerprint[1];
+    }
+
+    /**
+     * Helper method that takes in the path of a text word list and returns
+     * its fingerprint: its length in bytes followed by the CRC32 of its
+     * contents.
+     */
+    private static int[] getFingerprint(String textPath) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(Paths.get(textPath), StandardOpenOption.READ)) {
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            return new int[] {(int) channel.size(), (int) crc.getValue()};
+        }
+    }
+}
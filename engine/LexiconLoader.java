@@ -0,0 +1,68 @@
+package indy.engine;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This class loads the Dawg of valid words on a background thread, so that
+ * whatever starts the load can carry on, for example by showing the cover
+ * page, while the words are read. It exposes a future that completes with
+ * the Dawg once it is ready, along with how far along the load is.
+ */
+public class LexiconLoader {
+    private CompletableFuture<Dawg> future;
+    private volatile double progress;
+
+    /**
+     * The LexiconLoader constructor starts loading the Dawg from the compiled
+     * binary file, or from the text word list if there is no compiled file,
+     * on a new daemon thread. If neither file can be read, the future
+     * completes with an empty Dawg, so it never completes exceptionally and
+     * joining it once it is done never throws.
+     */
+    public LexiconLoader(String binaryPath, String textPath) {
+        this.progress = 0;
+        this.future = CompletableFuture.supplyAsync(() -> this.load(binaryPath, textPath), runnable -> {
+            Thread thread = new Thread(runnable, "lexicon-loader");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * Helper method run on the loading thread that loads the Dawg while
+     * recording its progress.
+     */
+    private Dawg load(String binaryPath, String textPath) {
+        try {
+            return LexiconFile.load(binaryPath, textPath, fraction -> this.progress = fraction);
+        }
+
+        catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            this.progress = 1.0;
+            return new DawgBuilder().build();
+        }
+    }
+
+    /**
+     * Returns the future that completes with the Dawg once it is loaded.
+     */
+    public CompletableFuture<Dawg> getFuture() {
+        return this.future;
+    }
+
+    /**
+     * Returns true if the Dawg has finished loading.
+     */
+    public boolean isReady() {
+        return this.future.isDone();
+    }
+
+    /**
+     * Returns the fraction of the loading done so far, from 0 to 1.
+     */
+    public double getProgress() {
+        return this.progress;
+    }
+}
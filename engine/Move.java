@@ -0,0 +1,124 @@
+package indy.engine;
+
+import indy.Constants;
+
+/**
+ * This class models a single move in Scrabble as the list of tiles it places
+ * onto the board. Every placement stores the row and col of the square the
+ * tile is placed on, the letter the tile shows, and whether the tile is a
+ * blank tile standing in for that letter. A move never places more tiles
+ * than a player can hold on their rack. Moves made by a MoveGenerator also
+ * carry their score.
+ */
+public class Move {
+    private int[] rows;
+    private int[] cols;
+    private char[] letters;
+    private boolean[] blanks;
+    private int size;
+    private int score;
+
+    /**
+     * The Move constructor instantiates the arrays holding the placements,
+     * each sized to hold a full rack of tiles, and starts out empty.
+     */
+    public Move() {
+        this.rows = new int[Constants.STARTING_PLAYER_TILES];
+        this.cols = new int[Constants.STARTING_PLAYER_TILES];
+        this.letters = new char[Constants.STARTING_PLAYER_TILES];
+        this.blanks = new boolean[Constants.STARTING_PLAYER_TILES];
+        this.size = 0;
+        this.score = 0;
+    }
+
+    /**
+     * Takes in the row and col of a square, the letter placed there, and
+     * whether that letter is played with a blank tile, and appends that
+     * placement to the move.
+     */
+    public void addPlacement(int row, int col, char letter, boolean blank) {
+        if (this.size == Constants.STARTING_PLAYER_TILES) {
+            throw new IllegalStateException("A move cannot place more than "
+                    + Constants.STARTING_PLAYER_TILES + " tiles");
+        }
+        this.rows[this.size] = row;
+        this.cols[this.size] = col;
+        this.letters[this.size] = letter;
+        this.blanks[this.size] = blank;
+        this.size++;
+    }
+
+    /**
+     * Removes every placement so that the move can be reused.
+     */
+    public void clear() {
+        this.size = 0;
+        this.score = 0;
+    }
+
+    /**
+     * Takes in an int and stores it as the score of the move.
+     */
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    /**
+     * Returns the score of the move.
+     */
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * Returns the number of tiles placed by the move.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the row of the placement at the given index.
+     */
+    public int getRow(int index) {
+        return this.rows[index];
+    }
+
+    /**
+     * Returns the col of the placement at the given index.
+     */
+    public int getCol(int index) {
+        return this.cols[index];
+    }
+
+    /**
+     * Returns the letter of the placement at the given index.
+     */
+    public char getLetter(int index) {
+        return this.letters[index];
+    }
+
+    /**
+     * Returns true if the placement at the given index is a blank tile.
+     */
+    public boolean isBlank(int index) {
+        return this.blanks[index];
+    }
+
+    /**
+     * Returns a readable description of the move, listing each placement
+     * as its row, col and letter, with blank tiles shown in lowercase.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < this.size; i++) {
+            char letter = this.blanks[i] ? Character.toLowerCase(this.letters[i]) : this.letters[i];
+            builder.append(this.rows[i]).append(',').append(this.cols[i]).append('=').append(letter);
+            if (i < this.size - 1) {
+                builder.append(' ');
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,256 @@
+package indy.engine;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class keeps the moves generated for recently seen positions, so that
+ * asking again for the moves of a rack on a board that has not changed, such
+ * as after the rack is shuffled or a turn is taken back, returns them at once
+ * instead of generating them again. A position is keyed by the Zobrist hash
+ * of the board and the key of the rack.
+ *
+ * The cache holds at most a given number of moves in total, rather than a
+ * number of lists, since an open board with a blank on the rack can have
+ * thousands of moves where a closed one has a handful. It is split into
+ * segments by key, each a LinkedHashMap in access order guarded by its own
+ * lock, so threads working on different positions rarely wait on each other.
+ * Once the cache holds too many moves, the list used least recently in one
+ * segment after another is evicted until it is back within its capacity,
+ * which comes close to evicting the lists used least recently overall
+ * without ever holding two locks at once. Two threads missing on the same
+ * position at once both generate its moves, and the second list replaces
+ * the first.
+ *
+ * The lists handed out are shared and must not be changed.
+ */
+public class MoveCache {
+    private static final int SEGMENT_COUNT = 16;
+
+    private ThreadLocal<MoveGenerator> generators;
+    private Segment[] segments;
+    private long capacity;
+    // the number of moves held across every segment
+    private AtomicLong size;
+    // the segment to evict from next
+    private AtomicInteger clock;
+    private LongAdder hits;
+    private LongAdder misses;
+    private LongAdder evictions;
+
+    /**
+     * The MoveCache constructor takes in the Dawg of valid words that moves
+     * are generated from and the most moves to keep across every position.
+     */
+    public MoveCache(Dawg dawg, int capacity) {
+        this.generators = ThreadLocal.withInitial(() -> new MoveGenerator(dawg));
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            this.segments[i] = new Segment();
+        }
+        this.capacity = capacity;
+        this.size = new AtomicLong();
+        this.clock = new AtomicInteger();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    /**
+     * Takes in a BoardGrid, CrossChecks in sync with it and a Rack, and
+     * returns every legal move that can be made with the rack, from the
+     * cache if the position was seen recently and freshly generated if not.
+     * The list must not be changed. Can be called from any thread.
+     */
+    public List<Move> generate(BoardGrid board, CrossChecks checks, Rack rack) {
+        Key key = new Key(board.getHash(), rack.getKey());
+        Segment segment = this.segments[(key.hashCode() & Integer.MAX_VALUE) % SEGMENT_COUNT];
+        List<Move> moves = segment.get(key);
+        if (moves != null) {
+            this.hits.increment();
+            return moves;
+        }
+        this.misses.increment();
+        moves = Collections.unmodifiableList(this.generators.get().generate(board, checks, rack));
+        // a list larger than the whole cache is not kept at all
+        if (moves.size() <= this.capacity) {
+            this.size.addAndGet(segment.put(key, moves));
+            this.evict();
+        }
+        return moves;
+    }
+
+    /**
+     * Helper method that evicts the least recently used list of one segment
+     * after another until the cache is back within its capacity.
+     */
+    private void evict() {
+        while (this.size.get() > this.capacity) {
+            Segment segment = this.segments[(this.clock.getAndIncrement() & Integer.MAX_VALUE) % SEGMENT_COUNT];
+            int evicted = segment.evictEldest();
+            if (evicted > 0) {
+                this.size.addAndGet(-evicted);
+                this.evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Empties the cache, leaving the counters as they are.
+     */
+    public void clear() {
+        for (Segment segment : this.segments) {
+            this.size.addAndGet(-segment.clear());
+        }
+    }
+
+    /**
+     * Returns the number of times the moves of a position were found in
+     * the cache.
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of times the moves of a position had to be
+     * generated.
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns the number of lists of moves evicted to make room for others.
+     */
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups that were found in the cache.
+     */
+    public double getHitRate() {
+        long lookups = this.getHits() + this.getMisses();
+        return lookups == 0 ? 0 : (double) this.getHits() / lookups;
+    }
+
+    /**
+     * Returns the number of moves held across every position.
+     */
+    public long getSize() {
+        return this.size.get();
+    }
+
+    /**
+     * Returns the counters as a single line of text.
+     */
+    @Override
+    public String toString() {
+        return String.format("%d hits, %d misses (%.1f%% hit rate), %d evictions, %d moves held",
+                this.getHits(), this.getMisses(), 100 * this.getHitRate(), this.getEvictions(), this.getSize());
+    }
+
+    /**
+     * This class is the hash of a board paired with the key of a rack.
+     */
+    private static class Key {
+        private long boardHash;
+        private long rackKey;
+
+        /**
+         * The Key constructor takes in the hash of the board and the key of
+         * the rack.
+         */
+        Key(long boardHash, long rackKey) {
+            this.boardHash = boardHash;
+            this.rackKey = rackKey;
+        }
+
+        /**
+         * Two keys are equal if both their board hash and rack key are.
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || this.getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return this.boardHash == other.boardHash && this.rackKey == other.rackKey;
+        }
+
+        /**
+         * Mixes the board hash and the rack key into a hash code.
+         */
+        @Override
+        public int hashCode() {
+            return Long.hashCode(this.boardHash * 31 + this.rackKey * 0x9E3779B97F4A7C15L);
+        }
+    }
+
+    /**
+     * This class is one segment of the cache: the lists of moves whose keys
+     * fall in it, from the least recently used to the most.
+     */
+    private static class Segment {
+        private LinkedHashMap<Key, List<Move>> lists;
+
+        /**
+         * The Segment constructor instantiates an empty segment.
+         */
+        Segment() {
+            this.lists = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        /**
+         * Takes in a key and returns its list of moves, marking it as the
+         * most recently used, or null if the segment does not hold it.
+         */
+        synchronized List<Move> get(Key key) {
+            return this.lists.get(key);
+        }
+
+        /**
+         * Takes in a key and its list of moves and adds them as the most
+         * recently used, and returns how many more moves the segment holds.
+         */
+        synchronized int put(Key key, List<Move> moves) {
+            List<Move> old = this.lists.put(key, moves);
+            return moves.size() - (old == null ? 0 : old.size());
+        }
+
+        /**
+         * Evicts the least recently used list and returns how many moves it
+         * held, or 0 if the segment is empty.
+         */
+        synchronized int evictEldest() {
+            Iterator<List<Move>> eldest = this.lists.values().iterator();
+            if (!eldest.hasNext()) {
+                return 0;
+            }
+            int evicted = eldest.next().size();
+            eldest.remove();
+            return evicted;
+        }
+
+        /**
+         * Empties the segment and returns how many moves it held.
+         */
+        synchronized int clear() {
+            int size = 0;
+            for (List<Move> moves : this.lists.values()) {
+                size += moves.size();
+            }
+            this.lists.clear();
+            return size;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package indy.engine;
+
+import indy.Constants;
+
+/**
+ * This class finds every legal move that can be made with a rack on a board,
+ * using the algorithm of Appel and Jacobson. For each anchor, every left part
+ * that the rack can spell on the free squares before it is walked through the
+ * Dawg, and each one is then extended rightward through the anchor, only ever
+ * following edges of the Dawg, so that nothing but prefixes of valid words is
+ * explored.
+ */
+public class MoveGenerator extends AbstractMoveGenerator {
+
+    /**
+     * The MoveGenerator constructor takes in the Dawg that words are
+     * spelled out from.
+     */
+    public MoveGenerator(Dawg dawg) {
+        super(dawg);
+    }
+
+    /**
+     * Generates every move whose leftmost newly placed tile is on or before
+     * the current anchor and which covers the anchor. If tiles already sit
+     * just before the anchor, they form the left part. Otherwise, left parts
+     * are spelled from the rack onto the free squares before the anchor, up to
+     * the previous anchor.
+     */
+    @Override
+    void generateFromAnchor() {
+        if (this.isOccupied(this.line, this.anchor - 1)) {
+            int start = this.anchor - 1;
+            while (this.isOccupied(this.line, start - 1)) {
+                start--;
+            }
+
+            int node = this.dawg.getRootNode();
+            for (int pos = start; pos < this.anchor; pos++) {
+                int edge = this.dawg.findEdge(node, this.letters[this.line][pos]);
+                if (edge == Dawg.NO_EDGE) {
+                    return;
+                }
+                node = this.dawg.getChildNode(edge);
+            }
+            this.extendRight(this.anchor, node, false, 0, start);
+        }
+
+        else {
+            int limit = 0;
+            int pos = this.anchor - 1;
+            while (pos >= 0 && !this.isAnchor(pos) && !this.isOccupied(this.line, pos)) {
+                limit++;
+                pos--;
+            }
+            this.leftPart(this.dawg.getRootNode(), Math.min(limit, Constants.STARTING_PLAYER_TILES - 1));
+        }
+    }
+
+    /**
+     * Takes in the node reached by the left part placed so far and how many
+     * more tiles the left part may grow by. Extends the left part rightward
+     * through the anchor, then tries growing it by every letter the rack can
+     * supply that continues a word in the Dawg. Squares in the left part never
+     * touch other tiles, so any letter may be placed on them.
+     */
+    private void leftPart(int node, int limit) {
+        // the left part sits on the squares directly before the anchor
+        int length = this.placedCount;
+        for (int i = 0; i < length; i++) {
+            this.placedPositions[i] = this.anchor - length + i;
+        }
+        this.extendRight(this.anchor, node, false, 0, this.anchor - length);
+
+        if (limit == 0) {
+            return;
+        }
+        for (int edge = this.dawg.getFirstEdge(node); edge != Dawg.NO_EDGE; edge = this.dawg.getNextEdge(edge)) {
+            int letter = this.dawg.getLetterIndex(edge);
+            for (int useBlank = 0; useBlank <= 1; useBlank++) {
+                if (this.rackCounts[useBlank == 1 ? BLANK_INDEX : letter] == 0) {
+                    continue;
+                }
+                // the position is filled in once the length of the left part is known
+                this.placeTile(0, letter, useBlank == 1);
+                this.leftPart(this.dawg.getChildNode(edge), limit - 1);
+                this.removeLastTile();
+            }
+        }
+    }
+
+    /**
+     * Takes in the square to extend onto, the node reached so far, whether a
+     * valid word ends at the previous square, the score of the cross words
+     * formed so far, and where the main word starts. If the square holds a
+     * tile, its letter must continue the word. If it is empty or off the
+     * board, the word so far is recorded as a move when it is valid and covers
+     * the anchor, and then every letter from the rack that continues the word
+     * and passes the square's cross-check is tried on it.
+     */
+    private void extendRight(int pos, int node, boolean endsWord, int crossTotal, int start) {
+        if (pos < Constants.BOARD_COL && this.letters[this.line][pos] != EMPTY) {
+            int edge = this.dawg.findEdge(node, this.letters[this.line][pos]);
+            if (edge != Dawg.NO_EDGE) {
+                this.extendRight(pos + 1, this.dawg.getChildNode(edge), this.dawg.isEndOfWord(edge),
+                        crossTotal, start);
+            }
+            return;
+        }
+
+        if (endsWord && pos > this.anchor) {
+            this.recordMove(start, pos, crossTotal);
+        }
+        if (pos == Constants.BOARD_COL || this.placedCount == Constants.STARTING_PLAYER_TILES) {
+            return;
+        }
+
+        int crossMask = this.crossMasks[this.line][pos];
+        for (int edge = this.dawg.getFirstEdge(node); edge != Dawg.NO_EDGE; edge = this.dawg.getNextEdge(edge)) {
+            int letter = this.dawg.getLetterIndex(edge);
+            if ((crossMask & (1 << letter)) == 0) {
+                continue;
+            }
+            for (int useBlank = 0; useBlank <= 1; useBlank++) {
+                if (this.rackCounts[useBlank == 1 ? BLANK_INDEX : letter] == 0) {
+                    continue;
+                }
+                int crossScore = this.scoreCrossWord(pos, letter, useBlank == 1);
+                this.placeTile(pos, letter, useBlank == 1);
+                this.extendRight(pos + 1, this.dawg.getChildNode(edge), this.dawg.isEndOfWord(edge),
+                        crossTotal + crossScore, start);
+                this.removeLastTile();
+            }
+        }
+    }
+}
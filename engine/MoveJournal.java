@@ -0,0 +1,207 @@
+package indy.engine;
+
+import indy.Constants;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * This class records everything that happens in a game as a compact run of
+ * bytes, so that the game can be saved and replayed through the rules later.
+ * Along with the seed of the game's TileBag, which fixes every tile drawn, it
+ * holds one entry per turn. Each entry starts with a byte holding its type in
+ * the high bits and, for a play, the number of tiles placed in the low three
+ * bits. A play then has two bytes per tile, packing the index of its square,
+ * whether it is a blank, and the index of its letter, followed by two bytes
+ * for the score of the play. A full seven tile play takes seventeen bytes.
+ *
+ * Entries are read back by offset: getType tells what the entry at an offset
+ * is, and read decodes it and returns the offset of the next entry.
+ */
+public class MoveJournal {
+    public static final int PLAY = 0;
+    public static final int PASS = 1;
+    public static final int RESIGN = 2;
+
+    private static final int MAGIC = 0x53434A4E;
+    private static final int VERSION = 1;
+    private static final int TYPE_SHIFT = 3;
+    private static final int SIZE_MASK = (1 << TYPE_SHIFT) - 1;
+    private static final int SQUARE_SHIFT = 6;
+    private static final int BLANK_BIT = 1 << 5;
+    private static final int LETTER_MASK = BLANK_BIT - 1;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private long seed;
+    private byte[] data;
+    private int length;
+    private int entryCount;
+
+    /**
+     * The MoveJournal constructor takes in the seed of the TileBag the
+     * game is played with and starts out with no entries.
+     */
+    public MoveJournal(long seed) {
+        this.seed = seed;
+        this.data = new byte[INITIAL_CAPACITY];
+        this.length = 0;
+        this.entryCount = 0;
+    }
+
+    /**
+     * Takes in a Move that was played, with its score set, and appends it.
+     */
+    public void recordPlay(Move move) {
+        this.ensureCapacity(1 + 2 * move.size() + 2);
+        this.data[this.length++] = (byte) ((PLAY << TYPE_SHIFT) | move.size());
+        for (int i = 0; i < move.size(); i++) {
+            int tile = (Bitboard.index(move.getRow(i), move.getCol(i)) << SQUARE_SHIFT)
+                    | (move.isBlank(i) ? BLANK_BIT : 0) | (move.getLetter(i) - 'A');
+            this.writeShort(tile);
+        }
+        this.writeShort(move.getScore());
+        this.entryCount++;
+    }
+
+    /**
+     * Appends a turn that was passed.
+     */
+    public void recordPass() {
+        this.ensureCapacity(1);
+        this.data[this.length++] = (byte) (PASS << TYPE_SHIFT);
+        this.entryCount++;
+    }
+
+    /**
+     * Appends a resignation by the player whose turn it was.
+     */
+    public void recordResign() {
+        this.ensureCapacity(1);
+        this.data[this.length++] = (byte) (RESIGN << TYPE_SHIFT);
+        this.entryCount++;
+    }
+
+    /**
+     * Takes in the offset of an entry and returns its type, PLAY, PASS
+     * or RESIGN.
+     */
+    public int getType(int offset) {
+        return (this.data[offset] & 0xFF) >>> TYPE_SHIFT;
+    }
+
+    /**
+     * Takes in the offset of an entry and a Move, and returns the offset of
+     * the next entry. If the entry is a play, the move is filled with its
+     * tiles and score, and otherwise the move is cleared.
+     */
+    public int read(int offset, Move move) {
+        move.clear();
+        int header = this.data[offset] & 0xFF;
+        offset++;
+        if (header >>> TYPE_SHIFT != PLAY) {
+            return offset;
+        }
+
+        int size = header & SIZE_MASK;
+        for (int i = 0; i < size; i++) {
+            int tile = this.readShort(offset);
+            int square = tile >>> SQUARE_SHIFT;
+            move.addPlacement(square / Constants.BOARD_COL, square % Constants.BOARD_COL,
+                    (char) ('A' + (tile & LETTER_MASK)), (tile & BLANK_BIT) != 0);
+            offset += 2;
+        }
+        move.setScore(this.readShort(offset));
+        return offset + 2;
+    }
+
+    /**
+     * Returns the seed of the TileBag the game was played with.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Returns the number of entries in the journal.
+     */
+    public int getEntryCount() {
+        return this.entryCount;
+    }
+
+    /**
+     * Returns the number of bytes the entries take up, which is also the
+     * offset just past the last entry.
+     */
+    public int getLength() {
+        return this.length;
+    }
+
+    /**
+     * Takes in a path and writes the journal to it: a header holding a magic
+     * number, the format version, the seed, the number of entries and their
+     * length in bytes, followed by the entries.
+     */
+    public void save(String path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(this.seed);
+            out.writeInt(this.entryCount);
+            out.writeInt(this.length);
+            out.write(this.data, 0, this.length);
+        }
+    }
+
+    /**
+     * Takes in the path of a journal written by save and returns it. Throws
+     * an IOException if the file cannot be read or is not a journal of this
+     * version.
+     */
+    public static MoveJournal load(String path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(path + " is not a move journal of version " + VERSION);
+            }
+            MoveJournal journal = new MoveJournal(in.readLong());
+            journal.entryCount = in.readInt();
+            journal.length = in.readInt();
+            if (journal.entryCount < 0 || journal.length < 0) {
+                throw new IOException(path + " is corrupt");
+            }
+            journal.data = new byte[Math.max(journal.length, INITIAL_CAPACITY)];
+            in.readFully(journal.data, 0, journal.length);
+            return journal;
+        }
+    }
+
+    /**
+     * Helper method that grows the byte array, if needed, so that the given
+     * number of bytes can be appended.
+     */
+    private void ensureCapacity(int extra) {
+        if (this.length + extra > this.data.length) {
+            byte[] larger = new byte[Math.max(this.data.length * 2, this.length + extra)];
+            System.arraycopy(this.data, 0, larger, 0, this.length);
+            this.data = larger;
+        }
+    }
+
+    /**
+     * Helper method that appends an int as two bytes, high byte first.
+     */
+    private void writeShort(int value) {
+        this.data[this.length++] = (byte) (value >>> 8);
+        this.data[this.length++] = (byte) value;
+    }
+
+    /**
+     * Helper method that reads the two bytes at an offset as an unsigned int.
+     */
+    private int readShort(int offset) {
+        return ((this.data[offset] & 0xFF) << 8) | (this.data[offset + 1] & 0xFF);
+    }
+}
@@ -0,0 +1,340 @@
+package indy.engine;
+
+import indy.Constants;
+
+/**
+ * This class handles the rules of Scrabble without any graphics, mainly
+ * validating a move against a BoardGrid and calculating the score of that
+ * move. It contains a reference to the Lexicon that every word created by
+ * a move is checked against.
+ *
+ * Validating a move allocates nothing: words are spelled into one reused
+ * buffer that is already as long as the longest possible word, and the tiles
+ * of the move are marked in a pending grid indexed by square for the length
+ * of the validation, so finding the tile of the move on a square while
+ * walking a word is a single array load rather than a scan of the move.
+ */
+public class MoveValidator {
+    public static final int INVALID_MOVE = -1;
+
+    private Lexicon lexicon;
+    // reused for every word, so it is sized to never have to grow
+    private StringBuilder wordPlayed;
+    // one more than the index in the move of the tile on each square, or zero if there is none
+    private int[] pendingTiles;
+    // number of letters in the word most recently walked by scoreWord
+    private int wordLength;
+
+    /**
+     * The MoveValidator constructor takes in the Lexicon of valid words
+     * and stores it as an instance variable.
+     */
+    public MoveValidator(Lexicon lexicon) {
+        this.lexicon = lexicon;
+        this.wordPlayed = new StringBuilder(Math.max(Constants.BOARD_ROW, Constants.BOARD_COL));
+        this.pendingTiles = new int[Bitboard.SQUARES];
+    }
+
+    /**
+     * Returns the Lexicon that words are checked against.
+     */
+    public Lexicon getLexicon() {
+        return this.lexicon;
+    }
+
+    /**
+     * Takes in a BoardGrid and a Move that has not been added to it yet, and
+     * returns the score of the move if it is valid or INVALID_MOVE if it is
+     * not. A move is valid if its tiles are placed on free squares in one line
+     * with no gaps between them other than tiles already on the board, if it
+     * covers the center square when it is the first move of the game, if every
+     * word it creates is a valid dictionary word, and if it connects to at
+     * least one previously placed tile unless the board is empty. The board
+     * is not changed.
+     */
+    public int validate(BoardGrid board, Move move) {
+        return this.validate(board, null, move);
+    }
+
+    /**
+     * Works like the validate method above, but takes in CrossChecks that are
+     * in sync with the board, so that the word each tile forms across the line
+     * of the move is checked against the cross-check mask of its square and
+     * scored from the base score kept there, instead of being walked and looked
+     * up in the Lexicon. If the CrossChecks are null, those words are walked.
+     */
+    public int validate(BoardGrid board, CrossChecks checks, Move move) {
+        int score = INVALID_MOVE;
+        if (move.size() > 0 && this.markPendingTiles(board, move)) {
+            score = this.scoreMove(board, checks, move);
+        }
+        this.clearPendingTiles(move);
+        return score;
+    }
+
+    /**
+     * Helper method that validates and scores a move whose tiles have been
+     * marked in the pending grid, returning INVALID_MOVE if it is not valid.
+     */
+    private int scoreMove(BoardGrid board, CrossChecks checks, Move move) {
+        // if it's the first move of the game, check that one of the tiles was placed on the center square
+        if (board.isEmpty() && !this.checkPlacedOnCenter(move)) {
+            return INVALID_MOVE;
+        }
+
+        boolean sameRow = true;
+        boolean sameCol = true;
+        for (int i = 1; i < move.size(); i++) {
+            sameRow = sameRow && move.getRow(i) == move.getRow(0);
+            sameCol = sameCol && move.getCol(i) == move.getCol(0);
+        }
+        if (!sameRow && !sameCol) {
+            return INVALID_MOVE;
+        }
+
+        int moveScore = 0;
+        boolean formedWord = false;
+        boolean connected = this.checkConnected(board, move);
+
+        if (move.size() == 1 && checks != null) {
+            // both words a single tile forms are cross words of the square it is placed on
+            formedWord = connected;
+            for (int direction = CrossChecks.ACROSS; direction <= CrossChecks.DOWN; direction++) {
+                int wordScore = this.scoreCrossWord(checks, move, 0, direction);
+                if (wordScore == INVALID_MOVE) {
+                    return INVALID_MOVE;
+                }
+                moveScore += wordScore;
+            }
+        }
+
+        else if (move.size() == 1) {
+            // a single tile can form a word in either direction
+            for (int vertical = 0; vertical <= 1; vertical++) {
+                int wordScore = this.scoreWord(board, move, move.getRow(0), move.getCol(0),
+                        vertical, 1 - vertical);
+                if (wordScore == INVALID_MOVE) {
+                    return INVALID_MOVE;
+                }
+                formedWord = formedWord || this.wordLength > 1;
+                moveScore += wordScore;
+            }
+        }
+
+        else {
+            int dRow = sameCol ? 1 : 0;
+            int dCol = sameRow ? 1 : 0;
+            if (!this.checkNoGaps(board, move, dRow, dCol)) {
+                return INVALID_MOVE;
+            }
+
+            // the main word containing every placed tile
+            int mainScore = this.scoreWord(board, move, move.getRow(0), move.getCol(0), dRow, dCol);
+            if (mainScore == INVALID_MOVE) {
+                return INVALID_MOVE;
+            }
+            formedWord = true;
+            moveScore += mainScore;
+
+            // then every perpendicular word created by each placed tile
+            int direction = sameRow ? CrossChecks.ACROSS : CrossChecks.DOWN;
+            for (int i = 0; i < move.size(); i++) {
+                int crossScore = checks != null ? this.scoreCrossWord(checks, move, i, direction)
+                        : this.scoreWord(board, move, move.getRow(i), move.getCol(i), dCol, dRow);
+                if (crossScore == INVALID_MOVE) {
+                    return INVALID_MOVE;
+                }
+                moveScore += crossScore;
+            }
+        }
+
+        if (!formedWord || !(connected || board.isEmpty())) {
+            return INVALID_MOVE;
+        }
+
+        //check if all seven tiles have been played, which means there should be a 50 point bonus
+        if (move.size() == Constants.STARTING_PLAYER_TILES) {
+            moveScore += Constants.BONUS;
+        }
+        return moveScore;
+    }
+
+    /**
+     * Marks every tile of the move in the pending grid, checking that each
+     * one is a letter placed on a square that is on the board, not already
+     * occupied, and not used by another tile of the same move. Returns true
+     * if so, and false as soon as a tile is not.
+     */
+    private boolean markPendingTiles(BoardGrid board, Move move) {
+        for (int i = 0; i < move.size(); i++) {
+            int row = move.getRow(i);
+            int col = move.getCol(i);
+            if (!BoardGrid.isOnBoard(row, col) || board.isOccupied(row, col)
+                    || !LetterValues.isLetter(move.getLetter(i))) {
+                return false;
+            }
+            int square = Bitboard.index(row, col);
+            if (this.pendingTiles[square] != 0) {
+                return false;
+            }
+            this.pendingTiles[square] = i + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Removes every tile of the move from the pending grid, so that it is
+     * empty again for the next move.
+     */
+    private void clearPendingTiles(Move move) {
+        for (int i = 0; i < move.size(); i++) {
+            if (BoardGrid.isOnBoard(move.getRow(i), move.getCol(i))) {
+                this.pendingTiles[Bitboard.index(move.getRow(i), move.getCol(i))] = 0;
+            }
+        }
+    }
+
+    /**
+     * Checks whether any of the tiles of the move were placed directly next
+     * to a tile already on the board, which is looked up from the occupied
+     * bits of the row and col of each tile. Returns true if so, meaning the
+     * move connects to the previously placed tiles, and false if not.
+     */
+    private boolean checkConnected(BoardGrid board, Move move) {
+        for (int i = 0; i < move.size(); i++) {
+            if (board.touchesTile(move.getRow(i), move.getCol(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether any of the tiles of the move were placed on the center
+     * square of the board with the star. Returns true if so, and false if not.
+     */
+    private boolean checkPlacedOnCenter(Move move) {
+        for (int i = 0; i < move.size(); i++) {
+            if (move.getRow(i) == Constants.CENTER_COORD && move.getCol(i) == Constants.CENTER_COORD) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes in the direction of the line a move was placed in and checks that
+     * every square between its first and last tile holds either a tile of the
+     * move or a tile already on the board. Returns true if so, guaranteeing
+     * that a single word contains every newly placed tile.
+     */
+    private boolean checkNoGaps(BoardGrid board, Move move, int dRow, int dCol) {
+        int first = Integer.MAX_VALUE;
+        int last = Integer.MIN_VALUE;
+        for (int i = 0; i < move.size(); i++) {
+            int pos = dRow == 1 ? move.getRow(i) : move.getCol(i);
+            first = Math.min(first, pos);
+            last = Math.max(last, pos);
+        }
+
+        for (int pos = first; pos <= last; pos++) {
+            int row = dRow == 1 ? pos : move.getRow(0);
+            int col = dCol == 1 ? pos : move.getCol(0);
+            if (!board.isOccupied(row, col) && this.findPlacement(row, col) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Takes in the row and col of a newly placed tile and a direction, and
+     * finds the word running through that tile in that direction by walking
+     * backwards to the first adjacent tile, then forwards to the last one,
+     * collecting letters from both the board and the move. If the word is
+     * only one letter long, zero is returned. Otherwise, if it is a valid
+     * dictionary word its score is returned, taking the special squares
+     * beneath newly placed tiles into account, and if it is not a valid
+     * dictionary word INVALID_MOVE is returned.
+     */
+    private int scoreWord(BoardGrid board, Move move, int row, int col, int dRow, int dCol) {
+        // walk back to the first tile of the word
+        while (this.hasTile(board, row - dRow, col - dCol)) {
+            row -= dRow;
+            col -= dCol;
+        }
+
+        this.wordPlayed.setLength(0);
+        int wordScore = 0;
+        int wordFactor = 1;
+        while (this.hasTile(board, row, col)) {
+            if (board.isOccupied(row, col)) {
+                // tiles already on the board ignore the square beneath them
+                this.wordPlayed.append(board.getLetter(row, col));
+                if (!board.isBlank(row, col)) {
+                    wordScore += LetterValues.getPointValue(board.getLetter(row, col));
+                }
+            }
+
+            else {
+                int index = this.findPlacement(row, col);
+                int squareBelow = Bitboard.index(row, col);
+                this.wordPlayed.append(move.getLetter(index));
+                if (!move.isBlank(index)) {
+                    wordScore += BoardLayout.scorePlacedTile(LetterValues.getPointValue(move.getLetter(index)),
+                            squareBelow);
+                }
+                wordFactor *= BoardLayout.getWordFactor(squareBelow);
+            }
+            row += dRow;
+            col += dCol;
+        }
+
+        this.wordLength = this.wordPlayed.length();
+        if (this.wordLength < 2) {
+            return 0;
+        }
+        if (!this.lexicon.contains(this.wordPlayed)) {
+            return INVALID_MOVE;
+        }
+        return wordScore * wordFactor;
+    }
+
+    /**
+     * Takes in CrossChecks, a Move, the index of one of its tiles and the
+     * direction of the move, and returns the score of the cross word that
+     * tile forms, or zero if it forms none. If the cross-check of its square
+     * does not allow its letter, INVALID_MOVE is returned.
+     */
+    private int scoreCrossWord(CrossChecks checks, Move move, int index, int direction) {
+        int row = move.getRow(index);
+        int col = move.getCol(index);
+        if (checks.getScore(direction, row, col) == CrossChecks.NO_CROSS_WORD) {
+            return 0;
+        }
+        if (!checks.allows(direction, row, col, Dawg.toLetterIndex(move.getLetter(index)))) {
+            return INVALID_MOVE;
+        }
+        return checks.scoreCrossWord(direction, row, col, move.getLetter(index), move.isBlank(index));
+    }
+
+    /**
+     * Returns true if there is a tile at the given row and col, either one
+     * already on the board or one placed by the move.
+     */
+    private boolean hasTile(BoardGrid board, int row, int col) {
+        return board.isOccupied(row, col) || this.findPlacement(row, col) != -1;
+    }
+
+    /**
+     * Takes in two ints representing the row and col position of a tile and
+     * looks it up in the pending grid. Returns the index of the tile of the
+     * move with that position, or -1 if there is none.
+     */
+    private int findPlacement(int row, int col) {
+        if (!BoardGrid.isOnBoard(row, col)) {
+            return -1;
+        }
+        return this.pendingTiles[Bitboard.index(row, col)] - 1;
+    }
+}
@@ -0,0 +1,78 @@
+package indy.engine;
+
+/**
+ * This class holds a candidate move considered by a PreEndgameSolver along
+ * with how it fared over every way the unseen tiles could be split between
+ * the bag and the opponent's rack, each weighted by how likely it is.
+ */
+public class PreEndgameMove {
+    private Move move;
+    private double totalWeight;
+    private double winWeight;
+    private double spreadWeight;
+    private int outcomes;
+
+    /**
+     * The PreEndgameMove constructor takes in the candidate Move, which
+     * starts out with no outcomes added.
+     */
+    PreEndgameMove(Move move) {
+        this.move = move;
+    }
+
+    /**
+     * Takes in how likely one outcome is, the final spread of the player who
+     * made the move in it, and adds it. A positive spread is a win, and a
+     * spread of zero counts as half a win.
+     */
+    void addOutcome(double weight, int finalSpread) {
+        this.totalWeight += weight;
+        this.spreadWeight += weight * finalSpread;
+        if (finalSpread > 0) {
+            this.winWeight += weight;
+        }
+
+        else if (finalSpread == 0) {
+            this.winWeight += weight / 2;
+        }
+        this.outcomes++;
+    }
+
+    /**
+     * Returns the candidate Move.
+     */
+    public Move getMove() {
+        return this.move;
+    }
+
+    /**
+     * Returns the probability that the player making the move wins.
+     */
+    public double getWinProbability() {
+        return this.totalWeight == 0 ? 0 : this.winWeight / this.totalWeight;
+    }
+
+    /**
+     * Returns the final spread the player making the move can expect.
+     */
+    public double getExpectedSpread() {
+        return this.totalWeight == 0 ? 0 : this.spreadWeight / this.totalWeight;
+    }
+
+    /**
+     * Returns the number of distinct outcomes the move was played out in.
+     */
+    public int getOutcomes() {
+        return this.outcomes;
+    }
+
+    /**
+     * Returns the move with its win probability and expected spread as a
+     * String.
+     */
+    @Override
+    public String toString() {
+        return String.format("%s (%d) wins %.1f%% spread %.1f over %d", this.move, this.move.getScore(),
+                100 * this.getWinProbability(), this.getExpectedSpread(), this.outcomes);
+    }
+}
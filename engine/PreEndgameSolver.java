@@ -0,0 +1,355 @@
+package indy.engine;
+
+import indy.Constants;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class picks a move for the last turns before the tile bag runs out,
+ * when there are at most a rack's worth of tiles left in it. The player to
+ * move can see every tile but the ones in the bag and on their opponent's rack,
+ * so it goes through every distinct way those unseen tiles could be split
+ * between the bag and the opponent's rack, and for each of the highest scoring
+ * candidate moves, every distinct set of tiles the player could then draw from
+ * the bag. Each of these outcomes is weighted by how many ways the tiles could
+ * be dealt to give it, and played out: while tiles are left in the bag, both
+ * players make their highest scoring move, after which every distinct set of
+ * tiles they could draw is played out in turn, weighted by how likely it is
+ * to be drawn, and once the bag is empty, the rest of the game is solved by
+ * an EndgameSolver. The win probability and expected spread of each
+ * candidate are then added up over every way its outcomes play out.
+ *
+ * Outcomes are played out in parallel across the common ForkJoinPool, each
+ * thread with its own EndgameSolver. Different outcomes can reach the same
+ * endgame, such as when two candidates place the same tiles on the same
+ * squares, so the value of every endgame solved is kept by its Zobrist hash
+ * and reused. Playouts of the same split reply to a candidate from the same
+ * board with the same rack, whatever was drawn, so their moves are looked up
+ * in a shared MoveCache instead of being generated again.
+ */
+public class PreEndgameSolver {
+    private static final int TABLE_BITS = 16;
+    private static final int MOVE_CACHE_CAPACITY = 1 << 18;
+
+    private MoveGenerator generator;
+    private ThreadLocal<EndgameSolver> solvers;
+    private MoveCache moveCache;
+    private int candidateCount;
+    private long endgameTimeLimitMillis;
+    // the value of every endgame solved, for the player to move, keyed by its hash
+    private ConcurrentHashMap<Long, Integer> endgames;
+    private LongAdder endgamesSolved;
+    private LongAdder endgamesReused;
+
+    /**
+     * The PreEndgameSolver constructor takes in the Dawg of valid words, the
+     * number of highest scoring moves to consider, and the most time, in
+     * milliseconds, to spend solving each endgame an outcome leads to.
+     */
+    public PreEndgameSolver(Dawg dawg, int candidateCount, long endgameTimeLimitMillis) {
+        this.generator = new MoveGenerator(dawg);
+        this.solvers = ThreadLocal.withInitial(() -> new EndgameSolver(dawg, TABLE_BITS));
+        this.moveCache = new MoveCache(dawg, MOVE_CACHE_CAPACITY);
+        this.candidateCount = candidateCount;
+        this.endgameTimeLimitMillis = endgameTimeLimitMillis;
+        this.endgames = new ConcurrentHashMap<>();
+        this.endgamesSolved = new LongAdder();
+        this.endgamesReused = new LongAdder();
+    }
+
+    /**
+     * Takes in a GameState with between one and seven tiles left in the bag,
+     * and returns the highest scoring moves of the current player, from the
+     * most likely to win to the least. Throws an IllegalArgumentException if
+     * the bag holds no tiles or more than a rack's worth.
+     */
+    public List<PreEndgameMove> solve(GameState game) {
+        int bagSize = game.getTileBag().size();
+        if (bagSize == 0 || bagSize > Constants.STARTING_PLAYER_TILES) {
+            throw new IllegalArgumentException("The tile bag holds " + bagSize + " tiles");
+        }
+        int player = game.getCurrentPlayer();
+        int spread = game.getScore(player) - game.getScore(1 - player);
+        BoardGrid board = game.getBoard();
+        CrossChecks checks = game.getCrossChecks();
+        Rack rack = game.getRack(player);
+
+        List<Move> moves = this.generator.generate(board, checks, rack);
+        moves.sort((a, b) -> Integer.compare(b.getScore(), a.getScore()));
+        List<PreEndgameMove> candidates = new ArrayList<>();
+        for (int i = 0; i < Math.min(this.candidateCount, moves.size()); i++) {
+            candidates.add(new PreEndgameMove(moves.get(i)));
+        }
+
+        int[] unseen = TileKind.getUnseenCounts(board, rack);
+        List<Outcome> outcomes = new ArrayList<>();
+        enumerate(unseen, sum(unseen) - bagSize, 1, (opponent, splitWeight) -> {
+            int[] bag = subtract(unseen, opponent);
+            for (int i = 0; i < candidates.size(); i++) {
+                int candidate = i;
+                int drawn = Math.min(candidates.get(i).getMove().size(), bagSize);
+                enumerate(bag, drawn, splitWeight, (draw, weight) ->
+                        outcomes.add(new Outcome(candidate, opponent, draw, subtract(bag, draw), weight)));
+            }
+        });
+
+        outcomes.parallelStream().forEach(outcome ->
+                this.playOut(board, checks, rack, candidates.get(outcome.candidate).getMove(), outcome));
+        for (Outcome outcome : outcomes) {
+            for (int i = 0; i < outcome.weights.size(); i++) {
+                candidates.get(outcome.candidate).addOutcome(outcome.weights.get(i), spread + outcome.spreads.get(i));
+            }
+        }
+
+        candidates.sort((a, b) -> a.getWinProbability() != b.getWinProbability()
+                ? Double.compare(b.getWinProbability(), a.getWinProbability())
+                : Double.compare(b.getExpectedSpread(), a.getExpectedSpread()));
+        return candidates;
+    }
+
+    /**
+     * Returns the number of endgames solved so far.
+     */
+    public long getEndgamesSolved() {
+        return this.endgamesSolved.sum();
+    }
+
+    /**
+     * Returns the number of times an endgame already solved was reached
+     * again and its value reused.
+     */
+    public long getEndgamesReused() {
+        return this.endgamesReused.sum();
+    }
+
+    /**
+     * Returns the MoveCache the playouts look their moves up in.
+     */
+    public MoveCache getMoveCache() {
+        return this.moveCache;
+    }
+
+    /**
+     * Helper method that plays out one outcome of a candidate move on a copy
+     * of the board, adding the spread from then on of the player who made it
+     * to the outcome, for every way the later draws could go.
+     */
+    private void playOut(BoardGrid original, CrossChecks originalChecks, Rack rack, Move candidate, Outcome outcome) {
+        BoardGrid board = new BoardGrid(original);
+        CrossChecks checks = new CrossChecks(originalChecks);
+        Rack[] racks = {new Rack(rack), new Rack()};
+        addTiles(racks[1], outcome.opponent);
+
+        board.placeMove(candidate);
+        checks.movePlaced(board, candidate);
+        racks[0].removeMove(candidate);
+        addTiles(racks[0], outcome.draw);
+        int spread = candidate.getScore();
+        if (racks[0].isEmpty()) {
+            outcome.addResult(1, spread);
+            return;
+        }
+        this.continuePlayOut(board, checks, racks, outcome.rest, 1, 0, spread, 1, outcome);
+    }
+
+    /**
+     * Helper method that carries on a playout from the given position, the
+     * tiles left in the bag counted by kind, the player to move, the number
+     * of turns passed in a row, the spread so far of the player who made the
+     * candidate move and how likely the draws so far were. While tiles are
+     * left, the player to move makes their highest scoring move and every
+     * distinct set of tiles they could draw after it is carried on from in
+     * turn. The position is left as it was given.
+     */
+    private void continuePlayOut(BoardGrid board, CrossChecks checks, Rack[] racks, int[] bag, int player,
+                                 int passes, int spread, double weight, Outcome outcome) {
+        int bagSize = sum(bag);
+        if (bagSize == 0) {
+            int value = this.solveEndgame(board, checks, racks[player], racks[1 - player]);
+            outcome.addResult(weight, player == 0 ? spread + value : spread - value);
+            return;
+        }
+        if (passes == Constants.MAX_CONSECUTIVE_PASSES) {
+            outcome.addResult(weight, spread);
+            return;
+        }
+
+        Move best = null;
+        for (Move move : this.moveCache.generate(board, checks, racks[player])) {
+            if (best == null || move.getScore() > best.getScore()) {
+                best = move;
+            }
+        }
+        if (best == null) {
+            this.continuePlayOut(board, checks, racks, bag, 1 - player, passes + 1, spread, weight, outcome);
+            return;
+        }
+
+        int nextSpread = player == 0 ? spread + best.getScore() : spread - best.getScore();
+        board.placeMove(best);
+        checks.movePlaced(board, best);
+        racks[player].removeMove(best);
+        // the move placed at least one tile and the bag is not empty, so the rack is never left empty
+        int drawn = Math.min(Constants.STARTING_PLAYER_TILES - racks[player].size(), bagSize);
+        enumerate(bag, drawn, weight / choose(bagSize, drawn), (draw, drawWeight) -> {
+            addTiles(racks[player], draw);
+            this.continuePlayOut(board, checks, racks, subtract(bag, draw), 1 - player, 0, nextSpread, drawWeight,
+                    outcome);
+            for (int i = 0; i < TileKind.KIND_COUNT; i++) {
+                for (int j = 0; j < draw[i]; j++) {
+                    racks[player].removeIndex(i);
+                }
+            }
+        });
+        board.removeMove(best);
+        checks.moveRemoved(board, best);
+        for (int i = 0; i < best.size(); i++) {
+            racks[player].add(best.isBlank(i) ? LetterValues.BLANK : best.getLetter(i));
+        }
+    }
+
+    /**
+     * Helper method that returns the value of an endgame for the player to
+     * move, solving it unless it was solved before.
+     */
+    private int solveEndgame(BoardGrid board, CrossChecks checks, Rack toMove, Rack opponent) {
+        long hash = board.getHash() ^ Zobrist.getRackKey(0, toMove) ^ Zobrist.getRackKey(1, opponent);
+        Integer known = this.endgames.get(hash);
+        if (known != null) {
+            this.endgamesReused.increment();
+            return known;
+        }
+        int value = this.solvers.get().solve(board, checks, toMove, opponent, this.endgameTimeLimitMillis)
+                .getSpread();
+        this.endgames.put(hash, value);
+        this.endgamesSolved.increment();
+        return value;
+    }
+
+    /**
+     * Helper method that goes through every distinct multiset of the given
+     * size that can be taken from the tiles counted by kind, passing each to
+     * the consumer along with the given weight times the number of ways those
+     * tiles can be picked from the ones available.
+     */
+    private static void enumerate(int[] counts, int size, double weight, SubsetConsumer consumer) {
+        enumerate(counts, size, 0, new int[TileKind.KIND_COUNT], weight, consumer);
+    }
+
+    /**
+     * Helper method that fills in the subset from the given kind onward.
+     */
+    private static void enumerate(int[] counts, int size, int kind, int[] subset, double weight,
+                                  SubsetConsumer consumer) {
+        if (size == 0) {
+            consumer.accept(subset.clone(), weight);
+            return;
+        }
+        if (kind == TileKind.KIND_COUNT) {
+            return;
+        }
+        for (int taken = Math.min(size, counts[kind]); taken >= 0; taken--) {
+            subset[kind] = taken;
+            enumerate(counts, size - taken, kind + 1, subset, weight * choose(counts[kind], taken), consumer);
+        }
+        subset[kind] = 0;
+    }
+
+    /**
+     * Helper method that returns n choose k.
+     */
+    private static double choose(int n, int k) {
+        double result = 1;
+        for (int i = 0; i < k; i++) {
+            result = result * (n - i) / (i + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Helper method that adds the tiles counted by kind to a rack.
+     */
+    private static void addTiles(Rack rack, int[] counts) {
+        for (int i = 0; i < TileKind.KIND_COUNT; i++) {
+            for (int j = 0; j < counts[i]; j++) {
+                rack.addIndex(i);
+            }
+        }
+    }
+
+    /**
+     * Helper method that returns the total of the counts.
+     */
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Helper method that returns the counts of the first multiset minus the
+     * counts of the second.
+     */
+    private static int[] subtract(int[] counts, int[] taken) {
+        int[] rest = counts.clone();
+        for (int i = 0; i < rest.length; i++) {
+            rest[i] -= taken[i];
+        }
+        return rest;
+    }
+
+    /**
+     * This interface is handed each multiset by enumerate.
+     */
+    private interface SubsetConsumer {
+
+        /**
+         * Takes in a multiset, counted by kind, and its weight.
+         */
+        void accept(int[] subset, double weight);
+    }
+
+    /**
+     * This class is one outcome of a candidate move: which tiles the opponent
+     * holds, which the player draws after the move, which are left in the bag
+     * after that, and how many ways the tiles could be dealt to give it. Once
+     * played out, it also holds the spread of every way the later draws could
+     * go, along with its weight.
+     */
+    private static class Outcome {
+        private int candidate;
+        private int[] opponent;
+        private int[] draw;
+        private int[] rest;
+        private double weight;
+        private List<Double> weights;
+        private List<Integer> spreads;
+
+        /**
+         * The Outcome constructor takes in the index of the candidate move,
+         * the three multisets of tiles and the weight of the outcome.
+         */
+        Outcome(int candidate, int[] opponent, int[] draw, int[] rest, double weight) {
+            this.candidate = candidate;
+            this.opponent = opponent;
+            this.draw = draw;
+            this.rest = rest;
+            this.weight = weight;
+            this.weights = new ArrayList<>();
+            this.spreads = new ArrayList<>();
+        }
+
+        /**
+         * Takes in how likely a way of playing out the outcome is, given the
+         * outcome itself, and the spread it ends on, and adds it.
+         */
+        void addResult(double likelihood, int spread) {
+            this.weights.add(this.weight * likelihood);
+            this.spreads.add(spread);
+        }
+    }
+}
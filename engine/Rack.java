@@ -0,0 +1,276 @@
+package indy.engine;
+
+import indy.Constants;
+
+/**
+ * This class models a player's tile rack without any graphics. It holds up
+ * to seven tiles as a histogram, counting how many tiles of each TileKind are
+ * on the rack, A through Z followed by blanks, since the order of the tiles on
+ * a rack never matters to the rules. Adding, removing and looking up a tile
+ * are a single array access, and a rack can be reduced to a key that is the
+ * same for every rack holding the same tiles. Blank tiles are written as
+ * LetterValues.BLANK.
+ */
+public class Rack {
+    public static final int BLANK_INDEX = LetterValues.ALPHABET_SIZE;
+
+    // bits used per tile in a rack key, enough for every kind index plus one
+    private static final int KEY_BITS = 5;
+    private static final int KEY_MASK = (1 << KEY_BITS) - 1;
+
+    private int[] counts;
+    private int size;
+
+    /**
+     * The Rack constructor instantiates an empty rack that can hold a
+     * player's full set of starting tiles.
+     */
+    public Rack() {
+        this.counts = new int[TileKind.KIND_COUNT];
+        this.size = 0;
+    }
+
+    /**
+     * Copy constructor that takes in another Rack and instantiates a rack
+     * holding the same tiles.
+     */
+    public Rack(Rack other) {
+        this.counts = other.counts.clone();
+        this.size = other.size;
+    }
+
+    /**
+     * Takes in a String of tiles, using LetterValues.BLANK for blank
+     * tiles, and returns a rack holding those tiles.
+     */
+    public static Rack of(String tiles) {
+        Rack rack = new Rack();
+        for (int i = 0; i < tiles.length(); i++) {
+            rack.add(tiles.charAt(i));
+        }
+        return rack;
+    }
+
+    /**
+     * Takes in a key returned by getKey and returns a rack holding the
+     * tiles it stands for.
+     */
+    public static Rack fromKey(long key) {
+        Rack rack = new Rack();
+        while (key != 0) {
+            rack.addIndex((int) (key & KEY_MASK) - 1);
+            key >>>= KEY_BITS;
+        }
+        return rack;
+    }
+
+    /**
+     * Takes in a char representing a tile and returns the index of its
+     * slot in the histogram, or -1 if it is neither a letter nor a blank.
+     */
+    public static int toIndex(char tile) {
+        if (tile == LetterValues.BLANK) {
+            return BLANK_INDEX;
+        }
+        return LetterValues.isLetter(tile) ? tile - 'A' : -1;
+    }
+
+    /**
+     * Takes in a char representing a tile and adds it to the rack.
+     */
+    public void add(char tile) {
+        int index = toIndex(tile);
+        if (index == -1) {
+            throw new IllegalArgumentException("Not a tile: " + tile);
+        }
+        this.addIndex(index);
+    }
+
+    /**
+     * Takes in the index of a kind of tile and adds a tile of that kind
+     * to the rack.
+     */
+    public void addIndex(int index) {
+        if (this.isFull()) {
+            throw new IllegalStateException("The rack already holds "
+                    + Constants.STARTING_PLAYER_TILES + " tiles");
+        }
+        this.counts[index]++;
+        this.size++;
+    }
+
+    /**
+     * Takes in a char representing a tile and removes one tile of that kind
+     * from the rack. Returns true if such a tile was on the rack and false
+     * if it was not.
+     */
+    public boolean remove(char tile) {
+        int index = toIndex(tile);
+        return index != -1 && this.removeIndex(index);
+    }
+
+    /**
+     * Takes in the index of a kind of tile and removes one tile of that
+     * kind from the rack. Returns true if such a tile was on the rack and
+     * false if it was not.
+     */
+    public boolean removeIndex(int index) {
+        if (this.counts[index] == 0) {
+            return false;
+        }
+        this.counts[index]--;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Takes in a char representing a tile and returns true if at least
+     * one tile of that kind is on the rack.
+     */
+    public boolean contains(char tile) {
+        int index = toIndex(tile);
+        return index != -1 && this.counts[index] > 0;
+    }
+
+    /**
+     * Takes in another Rack and returns true if every tile on it is also on
+     * this rack, counting repeated tiles, meaning the other rack's tiles
+     * could all be played from this one.
+     */
+    public boolean containsAll(Rack other) {
+        for (int i = 0; i < TileKind.KIND_COUNT; i++) {
+            if (other.counts[i] > this.counts[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Takes in another Rack and removes every tile on it from this one.
+     * Throws an IllegalArgumentException if this rack does not hold all
+     * of them, in which case nothing is removed.
+     */
+    public void removeAll(Rack other) {
+        if (!this.containsAll(other)) {
+            throw new IllegalArgumentException("The rack " + this + " does not hold " + other);
+        }
+        for (int i = 0; i < TileKind.KIND_COUNT; i++) {
+            this.counts[i] -= other.counts[i];
+        }
+        this.size -= other.size;
+    }
+
+    /**
+     * Takes in a Move and removes every tile it places from the rack, with
+     * a blank tile removed for every placement played as a blank. Returns
+     * false, putting back anything already removed, if one of the tiles is
+     * not on the rack.
+     */
+    public boolean removeMove(Move move) {
+        for (int i = 0; i < move.size(); i++) {
+            if (!this.remove(move.isBlank(i) ? LetterValues.BLANK : move.getLetter(i))) {
+                for (int j = 0; j < i; j++) {
+                    this.add(move.isBlank(j) ? LetterValues.BLANK : move.getLetter(j));
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Takes in the index of a kind of tile, from 0 for A to 25 for Z and
+     * BLANK_INDEX for blanks, and returns how many of it are on the rack.
+     */
+    public int getCount(int index) {
+        return this.counts[index];
+    }
+
+    /**
+     * Returns the number of tiles on the rack.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns true if there are no tiles on the rack.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns true if the rack holds a full set of tiles.
+     */
+    public boolean isFull() {
+        return this.size == Constants.STARTING_PLAYER_TILES;
+    }
+
+    /**
+     * Returns the sum of the point values of every tile on the rack.
+     */
+    public int getPointTotal() {
+        int total = 0;
+        for (int i = 0; i < LetterValues.ALPHABET_SIZE; i++) {
+            total += this.counts[i] * LetterValues.getPointValueOfIndex(i);
+        }
+        return total;
+    }
+
+    /**
+     * Returns a key that stands for exactly the tiles on the rack, no matter
+     * what order they were added in. It packs the tiles in alphabetical order,
+     * blanks last, into five bits each, so the key of a full rack fits in 35
+     * bits, and the empty rack has the key 0. It is stable across runs and
+     * can be turned back into a rack with fromKey.
+     */
+    public long getKey() {
+        long key = 0;
+        for (int i = TileKind.KIND_COUNT - 1; i >= 0; i--) {
+            for (int j = 0; j < this.counts[i]; j++) {
+                key = (key << KEY_BITS) | (i + 1);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Two racks are equal if they hold the same number of every kind of tile.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        return this.getKey() == ((Rack) o).getKey();
+    }
+
+    /**
+     * Computes a hash code from the rack key.
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.getKey());
+    }
+
+    /**
+     * Returns the tiles on the rack as a String, in alphabetical order with
+     * blanks last.
+     */
+    @Override
+    public String toString() {
+        StringBuilder tiles = new StringBuilder(this.size);
+        for (int i = 0; i < TileKind.KIND_COUNT; i++) {
+            char tile = i == BLANK_INDEX ? LetterValues.BLANK : (char) ('A' + i);
+            for (int j = 0; j < this.counts[i]; j++) {
+                tiles.append(tile);
+            }
+        }
+        return tiles.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package indy.engine;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * This class is a Strategy that makes a move picked uniformly at random from
+ * every move it can make, which gives a baseline for other strategies to beat.
+ */
+public class RandomStrategy implements Strategy {
+    private MoveGenerator generator;
+    private SplittableRandom random;
+
+    /**
+     * The RandomStrategy constructor takes in the Dawg of valid words that
+     * moves are generated from and the seed its choices are made with.
+     */
+    public RandomStrategy(Dawg dawg, long seed) {
+        this.generator = new MoveGenerator(dawg);
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Takes in a GameState and returns a random move the current player
+     * can make, or null if they cannot make any.
+     */
+    @Override
+    public Move chooseMove(GameState game) {
+        List<Move> moves = this.generator.generate(game.getBoard(), game.getCrossChecks(),
+                game.getRack(game.getCurrentPlayer()));
+        return moves.isEmpty() ? null : moves.get(this.random.nextInt(moves.size()));
+    }
+}
@@ -0,0 +1,117 @@
+package indy.engine;
+
+import indy.Constants;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+/**
+ * This class plays complete games between two computer strategies under the
+ * rules of GameState. Every game is independent of the others, so a run of
+ * games is split in half over and over across the threads of a ForkJoinPool
+ * and the results of each half are merged back together. Game i of a run is
+ * dealt from the seed firstSeed + i, and the first strategy moves first in the
+ * even games and second in the odd ones, so a run gives the same result no
+ * matter how many threads it is played on. A game ends when GameState says it
+ * is over, or when Constants.MAX_CONSECUTIVE_PASSES turns in a row are passed.
+ */
+public class SelfPlay {
+    private Dawg dawg;
+    // indexed by strategy, each making a new strategy from the seed of a game
+    private List<LongFunction<Strategy>> strategies;
+
+    /**
+     * The SelfPlay constructor takes in the Dawg of valid words and a
+     * function for each strategy that takes in a seed and makes a new
+     * Strategy, which only ever plays one game.
+     */
+    public SelfPlay(Dawg dawg, LongFunction<Strategy> first, LongFunction<Strategy> second) {
+        this.dawg = dawg;
+        this.strategies = List.of(first, second);
+    }
+
+    /**
+     * Takes in a ForkJoinPool, the seed of the first game and the number of
+     * games, plays them all across the pool and returns their result.
+     */
+    public SelfPlayResult run(ForkJoinPool pool, long firstSeed, int games) {
+        long start = System.nanoTime();
+        SelfPlayResult result = pool.invoke(new GamesTask(firstSeed, 0, games));
+        result.setNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Takes in the seed of a game and its index in the run, plays it to the
+     * end and returns the GameState it ends in. The outcome is added to the
+     * given SelfPlayResult.
+     */
+    public GameState playGame(long seed, int index, SelfPlayResult result) {
+        GameState game = new GameState(this.dawg, seed);
+        int firstPlayer = index % 2;
+        Strategy[] players = new Strategy[2];
+        players[firstPlayer] = this.strategies.get(0).apply(2 * seed);
+        players[1 - firstPlayer] = this.strategies.get(1).apply(2 * seed + 1);
+
+        while (!game.isOver() && game.getConsecutivePasses() < Constants.MAX_CONSECUTIVE_PASSES) {
+            Move move = players[game.getCurrentPlayer()].chooseMove(game);
+            if (move == null) {
+                game.pass();
+            }
+
+            else if (game.play(move) == MoveValidator.INVALID_MOVE) {
+                throw new IllegalStateException("Strategy chose the invalid move " + move);
+            }
+
+            else {
+                result.addPlay(move);
+            }
+        }
+        result.addGame(game, firstPlayer);
+        return game;
+    }
+
+    /**
+     * This class plays a range of the games of a run, splitting it in half
+     * until only one game is left.
+     */
+    private class GamesTask extends RecursiveTask<SelfPlayResult> {
+        private static final long serialVersionUID = 1L;
+
+        private long firstSeed;
+        private int from;
+        private int to;
+
+        /**
+         * The GamesTask constructor takes in the seed of the first game of
+         * the run and the range of games to play, from inclusive to exclusive.
+         */
+        GamesTask(long firstSeed, int from, int to) {
+            this.firstSeed = firstSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Plays the games of the range, forking the second half off to
+         * another thread, and returns their merged result.
+         */
+        @Override
+        protected SelfPlayResult compute() {
+            if (this.to - this.from <= 1) {
+                SelfPlayResult result = new SelfPlayResult();
+                if (this.from < this.to) {
+                    SelfPlay.this.playGame(this.firstSeed + this.from, this.from, result);
+                }
+                return result;
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            GamesTask second = new GamesTask(this.firstSeed, middle, this.to);
+            second.fork();
+            SelfPlayResult result = new GamesTask(this.firstSeed, this.from, middle).compute();
+            return result.merge(second.join());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package indy.engine;
+
+import indy.Constants;
+
+/**
+ * This class adds up the outcome of games played between two strategies, the
+ * first and the second, by SelfPlay. Results of games played on different
+ * threads are added up separately and then merged.
+ */
+public class SelfPlayResult {
+    private int games;
+    private long plays;
+    private long bingos;
+    // indexed by strategy, 0 for the first and 1 for the second
+    private long[] scores;
+    private int[] wins;
+    private int ties;
+    private long nanos;
+
+    /**
+     * The SelfPlayResult constructor starts out with no games played.
+     */
+    public SelfPlayResult() {
+        this.scores = new long[2];
+        this.wins = new int[2];
+    }
+
+    /**
+     * Takes in a finished GameState and which player the first strategy was,
+     * and adds the game's final scores and winner to the result.
+     */
+    void addGame(GameState game, int firstPlayer) {
+        this.games++;
+        int firstScore = game.getScore(firstPlayer);
+        int secondScore = game.getScore(1 - firstPlayer);
+        this.scores[0] += firstScore;
+        this.scores[1] += secondScore;
+        if (firstScore > secondScore) {
+            this.wins[0]++;
+        }
+
+        else if (secondScore > firstScore) {
+            this.wins[1]++;
+        }
+
+        else {
+            this.ties++;
+        }
+    }
+
+    /**
+     * Takes in a Move that was played and counts it, along with whether it
+     * was a bingo, which places every tile of a full rack.
+     */
+    void addPlay(Move move) {
+        this.plays++;
+        if (move.size() == Constants.STARTING_PLAYER_TILES) {
+            this.bingos++;
+        }
+    }
+
+    /**
+     * Takes in another SelfPlayResult and adds its games to this one.
+     * Returns this result.
+     */
+    SelfPlayResult merge(SelfPlayResult other) {
+        this.games += other.games;
+        this.plays += other.plays;
+        this.bingos += other.bingos;
+        for (int i = 0; i < 2; i++) {
+            this.scores[i] += other.scores[i];
+            this.wins[i] += other.wins[i];
+        }
+        this.ties += other.ties;
+        return this;
+    }
+
+    /**
+     * Takes in the number of nanoseconds it took to play the games.
+     */
+    void setNanos(long nanos) {
+        this.nanos = nanos;
+    }
+
+    /**
+     * Returns the number of games played.
+     */
+    public int getGames() {
+        return this.games;
+    }
+
+    /**
+     * Returns the number of moves played, not counting passes.
+     */
+    public long getPlays() {
+        return this.plays;
+    }
+
+    /**
+     * Returns the number of bingos played by either strategy.
+     */
+    public long getBingos() {
+        return this.bingos;
+    }
+
+    /**
+     * Returns the average number of bingos played per game, by both
+     * strategies together.
+     */
+    public double getBingoRate() {
+        return this.games == 0 ? 0 : (double) this.bingos / this.games;
+    }
+
+    /**
+     * Takes in a strategy, 0 for the first and 1 for the second, and returns
+     * its average final score.
+     */
+    public double getAverageScore(int strategy) {
+        return this.games == 0 ? 0 : (double) this.scores[strategy] / this.games;
+    }
+
+    /**
+     * Takes in a strategy, 0 for the first and 1 for the second, and returns
+     * the number of games it won.
+     */
+    public int getWins(int strategy) {
+        return this.wins[strategy];
+    }
+
+    /**
+     * Returns the number of games that ended in a tie.
+     */
+    public int getTies() {
+        return this.ties;
+    }
+
+    /**
+     * Returns the number of games played per second of wall clock time.
+     */
+    public double getGamesPerSecond() {
+        return this.nanos == 0 ? 0 : this.games / (this.nanos / 1e9);
+    }
+
+    /**
+     * Returns the result as a single line of text.
+     */
+    @Override
+    public String toString() {
+        return String.format("%d games %.1f games/s avg %.1f to %.1f wins %d to %d (%d ties) %.2f bingos/game",
+                this.games, this.getGamesPerSecond(), this.getAverageScore(0), this.getAverageScore(1),
+                this.wins[0], this.wins[1], this.ties, this.getBingoRate());
+    }
+}
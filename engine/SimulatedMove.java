@@ -0,0 +1,62 @@
+package indy.engine;
+
+/**
+ * This class holds a candidate move considered by a Simulator along with the
+ * spread it led to over the continuations simulated after it, which is the
+ * points scored by the player making it, the move itself included, minus the
+ * points scored by their opponent.
+ */
+public class SimulatedMove {
+    private Move move;
+    private int iterations;
+    private long totalSpread;
+
+    /**
+     * The SimulatedMove constructor takes in the candidate Move, which
+     * starts out with no continuations simulated.
+     */
+    SimulatedMove(Move move) {
+        this.move = move;
+        this.iterations = 0;
+        this.totalSpread = 0;
+    }
+
+    /**
+     * Takes in the spread of one more continuation and adds it.
+     */
+    void addSpread(int spread) {
+        this.iterations++;
+        this.totalSpread += spread;
+    }
+
+    /**
+     * Returns the candidate Move.
+     */
+    public Move getMove() {
+        return this.move;
+    }
+
+    /**
+     * Returns the number of continuations simulated after the move.
+     */
+    public int getIterations() {
+        return this.iterations;
+    }
+
+    /**
+     * Returns the average spread over the continuations simulated after the
+     * move, or just the score of the move if none were simulated.
+     */
+    public double getAverageSpread() {
+        return this.iterations == 0 ? this.move.getScore() : (double) this.totalSpread / this.iterations;
+    }
+
+    /**
+     * Returns the move and its average spread as a String.
+     */
+    @Override
+    public String toString() {
+        return String.format("%s (%d) %.1f over %d", this.move, this.move.getScore(),
+                this.getAverageSpread(), this.iterations);
+    }
+}
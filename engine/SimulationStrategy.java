@@ -0,0 +1,32 @@
+package indy.engine;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * This class is a Strategy that makes the move a Simulator finds to have the
+ * best average spread over the continuations it simulates.
+ */
+public class SimulationStrategy implements Strategy {
+    private Simulator simulator;
+    private SplittableRandom random;
+
+    /**
+     * The SimulationStrategy constructor takes in the Simulator that picks
+     * its moves and the seed the simulations are dealt from.
+     */
+    public SimulationStrategy(Simulator simulator, long seed) {
+        this.simulator = simulator;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Takes in a GameState and returns the move with the best simulated
+     * spread for the current player, or null if they cannot make any.
+     */
+    @Override
+    public Move chooseMove(GameState game) {
+        List<SimulatedMove> candidates = this.simulator.simulate(game, this.random.nextLong());
+        return candidates.isEmpty() ? null : candidates.get(0).getMove();
+    }
+}
@@ -0,0 +1,182 @@
+package indy.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * This class picks a move by simulating the game a few turns ahead. It takes
+ * the highest scoring candidate moves for the current player, and for each
+ * one plays out many random continuations: the tiles the player cannot see,
+ * which are every tile not on the board or on their own rack, are shuffled,
+ * the opponent is dealt a rack from them, and then both players make their
+ * highest scoring move for a number of plies, drawing new tiles from the rest
+ * of the shuffled tiles. The candidate with the best average spread over its
+ * continuations is best.
+ *
+ * Continuation i of every candidate is dealt from the same shuffle, so the
+ * candidates are compared on the same draws and the noise of the draws mostly
+ * cancels out of the comparison. Continuations are run in rounds, each split
+ * across the threads of the common ForkJoinPool, until either the number of
+ * iterations or the time limit is reached. Every thread generates moves with
+ * a MoveGenerator of its own.
+ */
+public class Simulator {
+    // continuations of each candidate run per round, between checks of the time limit
+    private static final int ROUND_SIZE = 16;
+
+    private MoveGenerator generator;
+    private ThreadLocal<MoveGenerator> generators;
+    private int candidateCount;
+    private int plies;
+    private int iterations;
+    private long timeLimitNanos;
+
+    /**
+     * The Simulator constructor takes in the Dawg of valid words, the number
+     * of highest scoring moves to consider, the number of plies to play after
+     * each of them, the number of continuations to simulate per candidate,
+     * and the most time, in milliseconds, to spend simulating a turn.
+     */
+    public Simulator(Dawg dawg, int candidateCount, int plies, int iterations, long timeLimitMillis) {
+        this.generator = new MoveGenerator(dawg);
+        this.generators = ThreadLocal.withInitial(() -> new MoveGenerator(dawg));
+        this.candidateCount = candidateCount;
+        this.plies = plies;
+        this.iterations = iterations;
+        this.timeLimitNanos = timeLimitMillis * 1_000_000;
+    }
+
+    /**
+     * Takes in a GameState and a seed, and simulates continuations of the
+     * highest scoring moves of the current player. Returns the candidates
+     * from the best average spread to the worst, which is empty if the
+     * player cannot make any move.
+     */
+    public List<SimulatedMove> simulate(GameState game, long seed) {
+        long deadline = System.nanoTime() + this.timeLimitNanos;
+        BoardGrid board = game.getBoard();
+        CrossChecks checks = game.getCrossChecks();
+        Rack rack = game.getRack(game.getCurrentPlayer());
+
+        List<Move> moves = this.generator.generate(board, checks, rack);
+        moves.sort((a, b) -> Integer.compare(b.getScore(), a.getScore()));
+        List<SimulatedMove> candidates = new ArrayList<>();
+        for (int i = 0; i < Math.min(this.candidateCount, moves.size()); i++) {
+            candidates.add(new SimulatedMove(moves.get(i)));
+        }
+        if (candidates.size() < 2) {
+            return candidates;
+        }
+
+        BoardSnapshot snapshot = new BoardSnapshot(board, checks);
+        int[] unseen = getUnseenTiles(board, rack);
+        int[] spreads = new int[candidates.size() * ROUND_SIZE];
+        for (int first = 0; first < this.iterations && System.nanoTime() < deadline; first += ROUND_SIZE) {
+            int roundSize = Math.min(ROUND_SIZE, this.iterations - first);
+            int roundStart = first;
+            IntStream.range(0, candidates.size() * roundSize).parallel().forEach(task -> {
+                int iteration = roundStart + task % roundSize;
+                spreads[task] = this.playOut(snapshot, rack, unseen, candidates.get(task / roundSize).getMove(),
+                        new SplittableRandom(seed + iteration));
+            });
+            for (int task = 0; task < candidates.size() * roundSize; task++) {
+                candidates.get(task / roundSize).addSpread(spreads[task]);
+            }
+        }
+
+        candidates.sort((a, b) -> Double.compare(b.getAverageSpread(), a.getAverageSpread()));
+        return candidates;
+    }
+
+    /**
+     * Helper method that plays one continuation after a candidate move on a
+     * copy of the board, dealing the opponent's rack and every tile drawn from
+     * the unseen tiles shuffled by the given SplittableRandom, and returns the
+     * spread of the player who made the candidate.
+     */
+    private int playOut(BoardSnapshot snapshot, Rack rack, int[] unseen, Move candidate, SplittableRandom random) {
+        MoveGenerator generator = this.generators.get();
+        BoardGrid board = snapshot.toBoardGrid();
+        CrossChecks checks = new CrossChecks(snapshot.getCrossChecks());
+        int[] bag = shuffle(unseen, random);
+        int bagSize = bag.length;
+
+        // the opponent already holds their rack, so it comes out of the shuffled tiles first
+        Rack[] racks = {new Rack(rack), new Rack()};
+        while (!racks[1].isFull() && bagSize > 0) {
+            racks[1].addIndex(bag[--bagSize]);
+        }
+
+        int spread = 0;
+        Move move = candidate;
+        for (int ply = 0; ply <= this.plies; ply++) {
+            int player = ply % 2;
+            if (ply > 0) {
+                move = this.findBestMove(generator, board, checks, racks[player]);
+            }
+            if (move == null) {
+                continue;
+            }
+
+            spread += player == 0 ? move.getScore() : -move.getScore();
+            board.placeMove(move);
+            checks.movePlaced(board, move);
+            racks[player].removeMove(move);
+            while (!racks[player].isFull() && bagSize > 0) {
+                racks[player].addIndex(bag[--bagSize]);
+            }
+            if (racks[player].isEmpty()) {
+                break;
+            }
+        }
+        return spread;
+    }
+
+    /**
+     * Helper method that returns the highest scoring move that can be made
+     * with a rack, or null if there is none.
+     */
+    private Move findBestMove(MoveGenerator generator, BoardGrid board, CrossChecks checks, Rack rack) {
+        Move best = null;
+        for (Move move : generator.generate(board, checks, rack)) {
+            if (best == null || move.getScore() > best.getScore()) {
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Helper method that takes in a board and the rack of the player to move
+     * and returns the kind index of every tile they cannot see, meaning every
+     * tile of a full bag that is neither on the board nor on their rack.
+     */
+    private static int[] getUnseenTiles(BoardGrid board, Rack rack) {
+        int[] counts = TileKind.getUnseenCounts(board, rack);
+        int[] unseen = new int[TileKind.TILE_COUNT - board.getTileCount() - rack.size()];
+        int size = 0;
+        for (int i = 0; i < TileKind.KIND_COUNT; i++) {
+            for (int j = 0; j < counts[i]; j++) {
+                unseen[size++] = i;
+            }
+        }
+        return unseen;
+    }
+
+    /**
+     * Helper method that returns a copy of the tiles shuffled by the given
+     * SplittableRandom.
+     */
+    private static int[] shuffle(int[] tiles, SplittableRandom random) {
+        int[] shuffled = tiles.clone();
+        for (int i = shuffled.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tile = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = tile;
+        }
+        return shuffled;
+    }
+}
@@ -0,0 +1,44 @@
+package indy.engine;
+
+import indy.Constants;
+
+/**
+ * This enum models the five kinds of squares on a Scrabble board without
+ * any of their graphics. Each kind knows its tile factor, the amount a
+ * newly placed tile's value is multiplied by, and its word factor, the
+ * amount a whole word's value is multiplied by.
+ */
+public enum SquareType {
+    NORMAL(1, 1),
+    DOUBLE_LETTER(Constants.DOUBLE_FACTOR, 1),
+    TRIPLE_LETTER(Constants.TRIPLE_FACTOR, 1),
+    DOUBLE_WORD(1, Constants.DOUBLE_FACTOR),
+    TRIPLE_WORD(1, Constants.TRIPLE_FACTOR);
+
+    private final int tileFactor;
+    private final int wordFactor;
+
+    /**
+     * Takes in the tile factor and word factor of the kind of square.
+     */
+    SquareType(int tileFactor, int wordFactor) {
+        this.tileFactor = tileFactor;
+        this.wordFactor = wordFactor;
+    }
+
+    /**
+     * Returns an int representing the factor by which a tile's
+     * value should be multiplied by when placed on this kind of square.
+     */
+    public int getTileFactor() {
+        return this.tileFactor;
+    }
+
+    /**
+     * Returns an int representing the factor by which a whole word's
+     * value should be multiplied by when placed on this kind of square.
+     */
+    public int getWordFactor() {
+        return this.wordFactor;
+    }
+}
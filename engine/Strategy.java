@@ -0,0 +1,16 @@
+package indy.engine;
+
+/**
+ * This interface models a computer player, which picks the move to make on
+ * its turn. A strategy may keep state between turns, such as a move generator
+ * and its buffers, so it is only ever used by one thread at a time, and every
+ * game played in parallel gets strategies of its own.
+ */
+public interface Strategy {
+
+    /**
+     * Takes in a GameState and returns the Move the current player should
+     * make, which must be one they can legally play, or null to pass.
+     */
+    Move chooseMove(GameState game);
+}
@@ -0,0 +1,115 @@
+package indy.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * This class models the tile bag without any graphics. It starts out holding
+ * all 100 tiles, each stored as its int tile id, whose letter and point value
+ * are given by its TileKind. The ids are shuffled once when the bag is filled,
+ * and tiles are drawn off the end of the shuffled array, so every draw takes
+ * constant time. The shuffle is driven by a SplittableRandom created from a
+ * seed, so a bag made with the same seed always gives out the same tiles in
+ * the same order, which lets any game be replayed exactly.
+ */
+public class TileBag {
+    private int[] tiles;
+    private int size;
+    private long seed;
+
+    /**
+     * The TileBag constructor fills the bag with the standard distribution
+     * of tiles, shuffled with a newly picked seed.
+     */
+    public TileBag() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Takes in the seed the bag is shuffled with and fills the bag with
+     * the standard distribution of tiles.
+     */
+    public TileBag(long seed) {
+        this(seed, new SplittableRandom(seed));
+    }
+
+    /**
+     * Takes in a SplittableRandom, such as one split off from a simulation's
+     * own, and fills the bag with the standard distribution of tiles shuffled
+     * by it. The seed of such a bag is the first long it draws from it.
+     */
+    public TileBag(SplittableRandom random) {
+        this(random.nextLong());
+    }
+
+    /**
+     * Helper constructor that takes in the seed and the SplittableRandom
+     * created from it, and fills and shuffles the bag.
+     */
+    private TileBag(long seed, SplittableRandom random) {
+        this.seed = seed;
+        this.tiles = new int[TileKind.TILE_COUNT];
+        for (int tileId = 0; tileId < TileKind.TILE_COUNT; tileId++) {
+            this.tiles[tileId] = tileId;
+        }
+        this.size = TileKind.TILE_COUNT;
+
+        // Fisher-Yates shuffle, so that drawing off the end is a uniformly random draw
+        for (int i = this.size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tileId = this.tiles[i];
+            this.tiles[i] = this.tiles[j];
+            this.tiles[j] = tileId;
+        }
+    }
+
+    /**
+     * Removes the next tile from the bag and returns its tile id. Throws an
+     * IllegalStateException if the bag is empty.
+     */
+    public int drawTileId() {
+        if (this.size == 0) {
+            throw new IllegalStateException("The tile bag is empty");
+        }
+        this.size--;
+        return this.tiles[this.size];
+    }
+
+    /**
+     * Removes the next tile from the bag and returns its letter, which is
+     * LetterValues.BLANK for a blank tile.
+     */
+    public char draw() {
+        return TileKind.forTile(this.drawTileId()).getLetter();
+    }
+
+    /**
+     * Takes in a Rack and draws tiles into it until it is full or the
+     * bag is empty.
+     */
+    public void fillRack(Rack rack) {
+        while (!rack.isFull() && !this.isEmpty()) {
+            rack.add(this.draw());
+        }
+    }
+
+    /**
+     * Returns the seed the bag was shuffled with.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Returns the number of tiles left in the bag.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns true if there are no tiles left in the bag.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+}
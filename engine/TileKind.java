@@ -0,0 +1,137 @@
+package indy.engine;
+
+import indy.Constants;
+
+/**
+ * This class describes one kind of tile, such as every E or every blank, with
+ * its letter, point value and how many of it are in a full tile bag. There is
+ * exactly one immutable TileKind per kind of tile, shared by every tile of that
+ * kind, so individual tiles can be passed around the engine as plain int ids.
+ * The TILE_COUNT tiles of a game have the ids 0 to TILE_COUNT - 1, numbered
+ * in alphabetical order of their kind with the blanks last.
+ */
+public final class TileKind {
+    public static final int KIND_COUNT = LetterValues.ALPHABET_SIZE + 1;
+    public static final int TILE_COUNT;
+
+    private static final TileKind[] KINDS = new TileKind[KIND_COUNT];
+    private static final TileKind[] KIND_OF_TILE;
+
+    static {
+        int tileCount = 0;
+        for (int i = 0; i < KIND_COUNT; i++) {
+            char letter = i < LetterValues.ALPHABET_SIZE ? (char) ('A' + i) : LetterValues.BLANK;
+            KINDS[i] = new TileKind(i, letter);
+            tileCount += KINDS[i].frequency;
+        }
+
+        TILE_COUNT = tileCount;
+        KIND_OF_TILE = new TileKind[TILE_COUNT];
+        int tileId = 0;
+        for (TileKind kind : KINDS) {
+            for (int i = 0; i < kind.frequency; i++) {
+                KIND_OF_TILE[tileId] = kind;
+                tileId++;
+            }
+        }
+    }
+
+    private final int index;
+    private final char letter;
+    private final int pointValue;
+    private final int frequency;
+
+    /**
+     * The TileKind constructor takes in the index of the kind and its
+     * letter, and looks up its point value and frequency.
+     */
+    private TileKind(int index, char letter) {
+        this.index = index;
+        this.letter = letter;
+        this.pointValue = LetterValues.getPointValue(letter);
+        this.frequency = LetterValues.getFrequency(letter);
+    }
+
+    /**
+     * Takes in the id of a tile and returns the kind of that tile.
+     */
+    public static TileKind forTile(int tileId) {
+        return KIND_OF_TILE[tileId];
+    }
+
+    /**
+     * Takes in an uppercase letter, or LetterValues.BLANK, and returns the
+     * kind of tile it stands for, or null if it is neither.
+     */
+    public static TileKind forLetter(char letter) {
+        if (letter == LetterValues.BLANK) {
+            return KINDS[LetterValues.ALPHABET_SIZE];
+        }
+        return LetterValues.isLetter(letter) ? KINDS[letter - 'A'] : null;
+    }
+
+    /**
+     * Takes in a BoardGrid and the rack of a player, and returns how many
+     * tiles of each kind, indexed like a Rack, that player cannot see,
+     * meaning the tiles of a full bag that are neither on the board nor on
+     * their rack, which are in the bag or on their opponent's rack.
+     */
+    public static int[] getUnseenCounts(BoardGrid board, Rack rack) {
+        int[] counts = new int[KIND_COUNT];
+        for (int i = 0; i < KIND_COUNT; i++) {
+            counts[i] = KINDS[i].frequency - rack.getCount(i);
+        }
+        for (int row = 0; row < Constants.BOARD_ROW; row++) {
+            for (int col = 0; col < Constants.BOARD_COL; col++) {
+                if (board.isOccupied(row, col)) {
+                    counts[board.isBlank(row, col) ? Rack.BLANK_INDEX : board.getLetter(row, col) - 'A']--;
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the index of the kind, from 0 for A to 25 for Z, with 26 for
+     * blanks.
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Returns the letter of the kind, which is LetterValues.BLANK for blanks.
+     */
+    public char getLetter() {
+        return this.letter;
+    }
+
+    /**
+     * Returns the point value of a tile of this kind.
+     */
+    public int getPointValue() {
+        return this.pointValue;
+    }
+
+    /**
+     * Returns how many tiles of this kind are in a full tile bag.
+     */
+    public int getFrequency() {
+        return this.frequency;
+    }
+
+    /**
+     * Returns true if tiles of this kind are blanks.
+     */
+    public boolean isBlank() {
+        return this.letter == LetterValues.BLANK;
+    }
+
+    /**
+     * Returns the letter of the kind as a String.
+     */
+    @Override
+    public String toString() {
+        return String.valueOf(this.letter);
+    }
+}
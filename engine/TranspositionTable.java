@@ -0,0 +1,106 @@
+package indy.engine;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class stores what a search has learned about positions, keyed by their
+ * Zobrist hash, and is shared by every thread of the search without locking.
+ * Each slot holds two longs: the entry itself, packing the value of the
+ * position, the depth it was searched to, which kind of bound the value is and
+ * a fingerprint of the best move found, and the hash of the position xored with
+ * that entry. Two threads writing the same slot at once can leave the halves of
+ * different entries in it, but then the xor no longer gives back the hash being
+ * probed for, so the torn slot is treated as empty instead of being trusted.
+ */
+public class TranspositionTable {
+    public static final long NO_ENTRY = 0;
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    private static final int VALUE_BITS = 16;
+    private static final int VALUE_OFFSET = 1 << (VALUE_BITS - 1);
+    private static final int DEPTH_SHIFT = VALUE_BITS;
+    private static final int BOUND_SHIFT = DEPTH_SHIFT + 8;
+    private static final int MOVE_SHIFT = 32;
+
+    private AtomicLongArray slots;
+    private int mask;
+
+    /**
+     * The TranspositionTable constructor takes in the base 2 logarithm of
+     * the number of slots, each of which takes up sixteen bytes.
+     */
+    public TranspositionTable(int bits) {
+        this.slots = new AtomicLongArray(2 << bits);
+        this.mask = (1 << bits) - 1;
+    }
+
+    /**
+     * Takes in the hash of a position and returns its entry, or NO_ENTRY if
+     * the table holds nothing trustworthy about it.
+     */
+    public long probe(long hash) {
+        int slot = 2 * ((int) hash & this.mask);
+        long entry = this.slots.get(slot + 1);
+        if (entry == NO_ENTRY || (this.slots.get(slot) ^ entry) != hash) {
+            return NO_ENTRY;
+        }
+        return entry;
+    }
+
+    /**
+     * Takes in the hash of a position, its value, the depth it was searched
+     * to, whether the value is EXACT, a LOWER_BOUND or an UPPER_BOUND, and the
+     * fingerprint of the best move found, and stores them. An entry searched
+     * deeper for the same position is kept instead.
+     */
+    public void store(long hash, int value, int depth, int bound, int move) {
+        int slot = 2 * ((int) hash & this.mask);
+        long old = this.probe(hash);
+        if (old != NO_ENTRY && getDepth(old) > depth) {
+            return;
+        }
+        long entry = (long) (value + VALUE_OFFSET) | ((long) depth << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT) | ((long) move << MOVE_SHIFT);
+        this.slots.lazySet(slot, hash ^ entry);
+        this.slots.lazySet(slot + 1, entry);
+    }
+
+    /**
+     * Empties the table.
+     */
+    public void clear() {
+        for (int i = 0; i < this.slots.length(); i++) {
+            this.slots.lazySet(i, 0);
+        }
+    }
+
+    /**
+     * Takes in an entry and returns the value stored in it.
+     */
+    public static int getValue(long entry) {
+        return (int) (entry & ((1 << VALUE_BITS) - 1)) - VALUE_OFFSET;
+    }
+
+    /**
+     * Takes in an entry and returns the depth it was searched to.
+     */
+    public static int getDepth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Takes in an entry and returns which kind of bound its value is.
+     */
+    public static int getBound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    /**
+     * Takes in an entry and returns the fingerprint of its best move.
+     */
+    public static int getMove(long entry) {
+        return (int) (entry >>> MOVE_SHIFT);
+    }
+}
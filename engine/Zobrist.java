@@ -0,0 +1,102 @@
+package indy.engine;
+
+import indy.Constants;
+import java.util.SplittableRandom;
+
+/**
+ * This class holds the random keys used to hash a position into a single long,
+ * in the way described by Zobrist. Every tile a position could hold has a key,
+ * such as an E on a square or a blank standing in for an E on that square, and
+ * so does every count of each kind of tile on each player's rack, the second
+ * player being the one to move, and the last turn having been passed. The hash
+ * of a position is all of its keys xored together. Adding or removing a tile
+ * then only takes one xor, and two different positions almost never hash the
+ * same. The keys come from a fixed seed, so hashes are stable across runs.
+ * BoardGrid keeps the hash of its tiles up to date as they are placed and
+ * removed.
+ */
+public final class Zobrist {
+    public static final long SIDE_TO_MOVE;
+    public static final long LAST_TURN_PASSED;
+
+    private static final long SEED = 0x5C0BB1E5EEDL;
+    // indexed by square, then letter index, then 1 if the tile is a blank
+    private static final long[] TILE_KEYS;
+    // indexed by player, then kind index, then the number of that kind on the rack
+    private static final long[][][] RACK_KEYS;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        SIDE_TO_MOVE = random.nextLong();
+        LAST_TURN_PASSED = random.nextLong();
+        TILE_KEYS = new long[Bitboard.SQUARES * LetterValues.ALPHABET_SIZE * 2];
+        for (int i = 0; i < TILE_KEYS.length; i++) {
+            TILE_KEYS[i] = random.nextLong();
+        }
+        RACK_KEYS = new long[2][TileKind.KIND_COUNT][];
+        for (int player = 0; player < 2; player++) {
+            for (int kind = 0; kind < TileKind.KIND_COUNT; kind++) {
+                RACK_KEYS[player][kind] = new long[Constants.STARTING_PLAYER_TILES + 1];
+                // no tiles of a kind on a rack adds nothing to the hash
+                for (int count = 1; count < RACK_KEYS[player][kind].length; count++) {
+                    RACK_KEYS[player][kind][count] = random.nextLong();
+                }
+            }
+        }
+    }
+
+    /**
+     * The Zobrist constructor is private, since the class only holds keys.
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Takes in the index of a square, the letter on it and whether it is a
+     * blank, and returns the key of that tile.
+     */
+    public static long getTileKey(int square, char letter, boolean blank) {
+        return TILE_KEYS[((square * LetterValues.ALPHABET_SIZE) + (letter - 'A')) * 2 + (blank ? 1 : 0)];
+    }
+
+    /**
+     * Takes in a Move and returns the xor of the keys of every tile it
+     * places, which is what placing it or taking it back off changes the
+     * hash of the board by.
+     */
+    public static long getMoveKey(Move move) {
+        long key = 0;
+        for (int i = 0; i < move.size(); i++) {
+            key ^= getTileKey(Bitboard.index(move.getRow(i), move.getCol(i)), move.getLetter(i), move.isBlank(i));
+        }
+        return key;
+    }
+
+    /**
+     * Takes in a player, 0 or 1, and their Rack, and returns the hash of the
+     * tiles on it.
+     */
+    public static long getRackKey(int player, Rack rack) {
+        long key = 0;
+        for (int kind = 0; kind < TileKind.KIND_COUNT; kind++) {
+            key ^= RACK_KEYS[player][kind][rack.getCount(kind)];
+        }
+        return key;
+    }
+
+    /**
+     * Takes in a BoardGrid and returns the hash of every tile on it, worked
+     * out from scratch, which is what BoardGrid.getHash keeps up to date.
+     */
+    public static long hash(BoardGrid board) {
+        long hash = 0;
+        for (int row = 0; row < Constants.BOARD_ROW; row++) {
+            for (int col = 0; col < Constants.BOARD_COL; col++) {
+                if (board.isOccupied(row, col)) {
+                    hash ^= getTileKey(Bitboard.index(row, col), board.getLetter(row, col), board.isBlank(row, col));
+                }
+            }
+        }
+        return hash;
+    }
+}